@@ -0,0 +1,125 @@
+/*
+ * Copyright 2000-2002 bob mcwhirter & James Strachan.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ * 
+ *   * Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ * 
+ *   * Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ * 
+ *   * Neither the name of the Jaxen Project nor the names of its
+ *     contributors may be used to endorse or promote products derived 
+ *     from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER
+ * OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * ====================================================================
+ * This software consists of voluntary contributions made by many 
+ * individuals on behalf of the Jaxen Project and was originally 
+ * created by bob mcwhirter <bob@werken.com> and 
+ * James Strachan <jstrachan@apache.org>.  For more information on the 
+ * Jaxen Project, please see <https://github.com/jaxen-xpath/jaxen/>.
+ */
+
+
+
+package org.jaxen.expr;
+
+import org.jaxen.Context;
+import org.jaxen.JaxenException;
+import org.jaxen.function.NumberFunction;
+
+class DefaultUnaryExpr extends DefaultExpr implements UnaryExpr
+{
+
+    private static final long serialVersionUID = 2303714238683092334L;
+    private Expr expr;
+
+    DefaultUnaryExpr(Expr expr)
+    {
+        this.expr = expr;
+    }
+
+    public Expr getExpr()
+    {
+        return this.expr;
+    }
+
+    public String toString()
+    {
+        return "[(DefaultUnaryExpr): " + getExpr() + "]";
+    }
+
+    public String getText()
+    {
+        int count = 0;
+        Expr current = this;
+        while (current instanceof UnaryExpr)
+        {
+            count++;
+            current = ((UnaryExpr) current).getExpr();
+        }
+
+        String currentText = current.getText();
+        StringBuffer text = new StringBuffer(currentText.length() + (count * 3));
+        for (int i = 0; i < count; i++)
+        {
+            text.append("-(");
+        }
+        text.append(currentText);
+        for (int i = 0; i < count; i++)
+        {
+            text.append(')');
+        }
+        return text.toString();
+    }
+
+    public Expr simplify()
+    {
+        DefaultUnaryExpr innermost = this;
+        while (innermost.expr instanceof DefaultUnaryExpr)
+        {
+            innermost = (DefaultUnaryExpr) innermost.expr;
+        }
+        innermost.expr = innermost.expr.simplify();
+
+        return this;
+    }
+
+    public Object evaluate(Context context) throws JaxenException
+    {
+        int count = 0;
+        Expr current = this;
+        while (current instanceof UnaryExpr)
+        {
+            count++;
+            current = ((UnaryExpr) current).getExpr();
+        }
+
+        Number number = NumberFunction.evaluate( current.evaluate( context ),
+                                                 context.getNavigator() );
+
+        if ((count & 1) == 1)
+        {
+            return Double.valueOf( number.doubleValue() * -1 );
+        }
+        return number;
+    }
+    
+}
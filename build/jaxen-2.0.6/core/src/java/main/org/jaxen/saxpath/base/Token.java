@@ -0,0 +1,109 @@
+/*
+ * Copyright 2000-2002 bob mcwhirter & James Strachan.
+ * All rights reserved.
+ *
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ * 
+ *   * Redistributions of source code must retain the above copyright
+ *     notice, this list of conditions and the following disclaimer.
+ * 
+ *   * Redistributions in binary form must reproduce the above copyright
+ *     notice, this list of conditions and the following disclaimer in the
+ *     documentation and/or other materials provided with the distribution.
+ * 
+ *   * Neither the name of the Jaxen Project nor the names of its
+ *     contributors may be used to endorse or promote products derived 
+ *     from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER
+ * OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * ====================================================================
+ * This software consists of voluntary contributions made by many
+ * individuals on behalf of the Jaxen Project and was originally
+ * created by bob mcwhirter <bob@werken.com> and
+ * James Strachan <jstrachan@apache.org>.  For more information on the
+ * Jaxen Project, please see <https://github.com/jaxen-xpath/jaxen/>.
+ */
+
+
+
+
+package org.jaxen.saxpath.base;
+
+class Token
+{
+    private int    tokenType;
+    private String parseText;
+    private int    tokenBegin;
+    private int    tokenEnd;
+
+    Token(int tokenType,
+          String parseText,
+          int tokenBegin,
+          int tokenEnd)
+    {
+        setTokenType( tokenType );
+        setParseText( parseText );
+        setTokenBegin( tokenBegin );
+        setTokenEnd( tokenEnd );
+    }
+
+    private void setTokenType(int tokenType)
+    {
+        this.tokenType = tokenType;
+    }
+
+    int getTokenType()
+    {
+        return this.tokenType;
+    }
+
+    private void setParseText(String parseText)
+    {
+        this.parseText = parseText;
+    }
+
+    String getTokenText()
+    {
+        return this.parseText.substring( getTokenBegin(),
+                                         getTokenEnd() );
+    }
+
+    private void setTokenBegin(int tokenBegin)
+    {
+        this.tokenBegin = tokenBegin;
+    }
+
+    int getTokenBegin()
+    {
+        return this.tokenBegin;
+    }
+
+    private void setTokenEnd(int tokenEnd)
+    {
+        this.tokenEnd = tokenEnd;
+    }
+
+    int getTokenEnd()
+    {
+        return this.tokenEnd;
+    }
+
+    public String toString()
+    {
+        return ("[ (" + tokenType + ") (" + getTokenText() + ")");
+    }
+}
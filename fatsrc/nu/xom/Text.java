@@ -29,7 +29,7 @@ package nu.xom;
  * </p>
 
  * @author Elliotte Rusty Harold
- * @version 1.3.0 fat
+ * @version 1.5.0 fat
  *
  */
 public class Text extends Node {
@@ -84,6 +84,12 @@ public class Text extends Node {
         return result;
     }
 
+
+    // The builder reuses the array it passes here for the next text node.
+    static Text build(char[] text, int length) {
+        return build(new String(text, 0, length));
+    }
+
     
     /**
      * <p>
@@ -101,8 +107,11 @@ public class Text extends Node {
      * @throws IllegalCharacterDataException if data contains any 
      *     characters which are illegal in well-formed XML 1.0 such as 
      *     null, vertical tab, or unmatched halves of surrogate pairs
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setValue(String data) {
+        checkNotFrozen();
         _setValue(data);
     }
 
@@ -120,6 +129,18 @@ public class Text extends Node {
         
     }
 
+    
+    // Called as the document is frozen.
+    void compact(ValuePool pool) {
+        data = pool.shareValue(data);
+    }
+
+    
+    void measure(MemoryUsage usage) {
+        usage.addText(data);
+    }
+
+    
     /**
      * <p>
      * Returns the XPath 1.0 string-value of this <code>Text</code> 
@@ -267,6 +288,13 @@ public class Text extends Node {
         return this.data.length() == 0;
     }
 
+
+    // This version stores no UTF-8 form, so the
+    // serializer has nothing to copy directly
+    byte[] getUTF8Data() {
+        return null;
+    }
+
     String escapeText() {
         
         String s = getValue();
@@ -37,7 +37,7 @@ package nu.xom;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.0
+ * @version 1.5.0
  * 
  */
 public class Attribute extends Node {
@@ -274,9 +274,12 @@ public class Attribute extends Node {
      * @throws NullPointerException if <code>type</code> is null
      * @throws IllegalDataException if this is an <code>xml:id</code>
      *     attribute and the <code>type</code> is not ID
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setType(Type type) {
         
+        checkNotFrozen();
         if (type == null) {
             throw new NullPointerException("Null attribute type");
         }
@@ -284,16 +287,38 @@ public class Attribute extends Node {
             throw new IllegalDataException(
               "Can't change type of xml:id attribute to " + type);
         }
+        if (type != this.type 
+          && (type == Type.ID || this.type == Type.ID)) {
+            invalidateIDIndex();
+        }
         _setType(type);
         
     }
     
     
+    // Discards the ID index of the document containing this 
+    // attribute, if there is one. The index belongs to the numbering
+    // its parent element shares with the rest of the tree.
+    private void invalidateIDIndex() {
+        
+        ParentNode parent = getParent();
+        if (parent != null && parent.numbering != null) {
+            parent.numbering.ids = null;
+        }
+        
+    }
+    
+    
     private boolean isXMLID() {
         return "xml".equals(this.prefix) && "id".equals(this.localName);
     }
 
     
+    boolean isXMLBase() {
+        return "xml".equals(this.prefix) && "base".equals(this.localName);
+    }
+
+    
     private void _setType(Type type) {
         this.type = type;
     }
@@ -328,9 +353,17 @@ public class Attribute extends Node {
      *     which are not legal in XML such as vertical tab or a null. 
      *     Characters such as " and &amp; are legal, but will be 
      *     automatically escaped when the attribute is serialized.
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setValue(String value) {
+        checkNotFrozen();
         _setValue(value);
+        if (type == Type.ID) invalidateIDIndex();
+        if (isXMLBase()) {
+            ParentNode parent = getParent();
+            if (parent != null) parent.invalidateBaseURIs();
+        }
     }
 
     
@@ -365,15 +398,19 @@ public class Attribute extends Node {
      * 
      * @throws IllegalNameException if <code>localName</code>
      *      is not a namespace well-formed, non-colonized name
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      * 
      */
     public void setLocalName(String localName) {
         
+        checkNotFrozen();
         if ("id".equals(localName) &&
           "http://www.w3.org/XML/1998/namespace".equals(this.URI)) {
             Verifier.checkNCName(this.value);
         }
         _setLocalName(localName);
+        reindex();
         if (isXMLID()) {
             this.setType(Attribute.Type.ID);
         }
@@ -381,6 +418,29 @@ public class Attribute extends Node {
     }   
     
     
+    // Called as the document is frozen.
+    void compact(ValuePool pool) {
+        localName = pool.shareName(localName);
+        prefix = pool.shareName(prefix);
+        URI = pool.shareName(URI);
+        value = pool.shareValue(value);
+    }
+    
+    
+    // The parent element may have indexed this attribute 
+    // under its old name, and may have cached the namespace
+    // it used to bind its prefix to.
+    private void reindex() {
+        Element parent = (Element) getParent();
+        if (parent != null) {
+            parent.indexAttributes();
+            parent.clearInScopeNamespaces();
+            // the attribute may have become or stopped being xml:base
+            parent.invalidateBaseURIs();
+        }
+    }
+    
+    
     private void _setLocalName(String localName) {
         Verifier.checkNCName(localName);
         if (localName.equals("xmlns")) {
@@ -458,10 +518,14 @@ public class Attribute extends Node {
      *      <li>The prefix conflicts with an existing declaration
      *          on the attribute's parent element.</li>
      * </ul>
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setNamespace(String prefix, String URI) {
                
+        checkNotFrozen();
         _setNamespace(prefix, URI);
+        reindex();
         if (isXMLID()) {
             this.setType(Attribute.Type.ID);
         }
@@ -0,0 +1,152 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+/**
+ * <p>
+ * A hash table of an element's attributes keyed by local name
+ * and namespace URI. Elements only build one when they have too
+ * many attributes to search linearly. The element's attribute
+ * array still determines the order of the attributes; this table
+ * only makes lookups by name constant time. It uses open
+ * addressing with linear probing so it needs no per-entry objects.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ */
+final class AttributeIndex {
+
+
+    private Attribute[] table;
+    private int size = 0;
+    // number of attributes with a namespace prefix
+    private int prefixed = 0;
+
+
+    AttributeIndex(Attribute[] attributes, int count) {
+
+        int capacity = 16;
+        while (capacity < count * 2) capacity *= 2;
+        table = new Attribute[capacity];
+        for (int i = 0; i < count; i++) add(attributes[i]);
+
+    }
+
+
+    private static int hash(String localName, String namespaceURI) {
+        int h = localName.hashCode() * 31 + namespaceURI.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+
+    Attribute get(String localName, String namespaceURI) {
+
+        if (localName == null || namespaceURI == null) return null;
+        int mask = table.length - 1;
+        int i = hash(localName, namespaceURI) & mask;
+        Attribute a;
+        while ((a = table[i]) != null) {
+            if (a.getLocalName().equals(localName)
+              && a.getNamespaceURI().equals(namespaceURI)) {
+                return a;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+
+    }
+
+
+    void add(Attribute attribute) {
+
+        if ((size + 1) * 2 > table.length) resize();
+        int mask = table.length - 1;
+        int i = slot(attribute) & mask;
+        while (table[i] != null) i = (i + 1) & mask;
+        table[i] = attribute;
+        size++;
+        if (attribute.getNamespacePrefix().length() != 0) prefixed++;
+
+    }
+
+
+    void remove(Attribute attribute) {
+
+        int mask = table.length - 1;
+        int i = slot(attribute) & mask;
+        while (table[i] != attribute) {
+            if (table[i] == null) return;
+            i = (i + 1) & mask;
+        }
+        table[i] = null;
+        size--;
+        if (attribute.getNamespacePrefix().length() != 0) prefixed--;
+
+        // Move later entries of the same probe sequence back into
+        // the hole so lookups don't stop short at it.
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            Attribute a = table[j];
+            if (a == null) return;
+            int home = slot(a) & mask;
+            boolean reachable = i <= j ? (home <= i || home > j)
+                                       : (home <= i && home > j);
+            if (reachable) {
+                table[i] = a;
+                table[j] = null;
+                i = j;
+            }
+        }
+
+    }
+
+
+    private static int slot(Attribute attribute) {
+        return hash(attribute.getLocalName(), attribute.getNamespaceURI());
+    }
+
+
+    private void resize() {
+
+        Attribute[] old = table;
+        table = new Attribute[old.length * 2];
+        size = 0;
+        prefixed = 0;
+        for (int i = 0; i < old.length; i++) {
+            if (old[i] != null) add(old[i]);
+        }
+
+    }
+
+
+    int getCapacity() {
+        return table.length;
+    }
+
+
+    boolean hasPrefixedAttributes() {
+        return prefixed > 0;
+    }
+
+
+}
@@ -23,6 +23,7 @@ package nu.xom;
 import java.io.CharConversionException;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
@@ -30,7 +31,11 @@ import java.io.StringReader;
 import java.io.UTFDataFormatException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
+import org.xml.sax.ContentHandler;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -52,7 +57,7 @@ import org.apache.xerces.impl.Version;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.9
+ * @version 1.5.0
  * 
  */
 public class Builder {
@@ -479,6 +484,12 @@ public class Builder {
             if (factory == null) factory = new NodeFactory();
             handler = new XOMHandler(factory);
         }
+        installHandler(handler);
+        
+    }
+    
+    
+    private void installHandler(XOMHandler handler) {
         
         parser.setContentHandler(handler);
         parser.setDTDHandler(handler);
@@ -516,6 +527,104 @@ public class Builder {
     }
     
     
+    /**
+     * <p>
+     * Reads a document from an input stream and returns the 
+     * elements that match a simple path one at a time, without 
+     * building the rest of the document. Each matching element is
+     * complete, with all its attributes and descendants, and has 
+     * no parent. Everything outside the matching elements is 
+     * discarded as soon as it has been parsed, so memory use does 
+     * not grow with the size of the document. This is useful for 
+     * documents that consist of many independent records, such as 
+     * the entries in a feed or the rows in a database export.
+     * </p>
+     * 
+     * <p>
+     * The path is a sequence of element names, each preceded by 
+     * a slash, such as <code>/feed/entry</code>. The first name 
+     * must match the root element. Names are compared with the 
+     * qualified names in the document, including any prefix. 
+     * An asterisk matches any element. 
+     * </p>
+     * 
+     * <p>
+     * With the default Xerces parser, the document is parsed in 
+     * the caller's thread, and each call to <code>hasNext</code>
+     * reads only as far as the next matching element. With other
+     * parsers, the document is parsed in a separate thread that 
+     * stays a few elements ahead of the caller. In that case, 
+     * a caller that stops before the end of the document must 
+     * call <code>close</code> on the iterator, or the thread waits
+     * forever and keeps this builder and the input stream with it.
+     * Closing the iterator also closes the input stream.
+     * </p>
+     * 
+     * <p>
+     * Either way, parsing and validity errors are reported when
+     * they are reached, by throwing an <code>XMLException</code> 
+     * whose cause is the <code>ParsingException</code> or 
+     * <code>IOException</code> from <code>hasNext</code> or 
+     * <code>next</code>. This builder must not be used for anything 
+     * else until the returned iterator has been exhausted or closed. 
+     * </p>
+     * 
+     * @param in the input stream from which the document is read
+     * @param path the slash separated names of the elements 
+     *     to return
+     * 
+     * @return an iterator over the matching elements
+     * 
+     * @throws NullPointerException if <code>in</code> or 
+     *     <code>path</code> is null
+     * @throws IllegalArgumentException if <code>path</code> does 
+     *     not begin with a slash
+     * @throws IllegalNameException if a step in <code>path</code>
+     *     is neither an XML name nor an asterisk
+     */
+    public RecordIterator stream(InputStream in, String path) {
+        return stream(in, null, path);
+    }
+    
+    
+    /**
+     * <p>
+     * Reads a document from an input stream while specifying a 
+     * base URI, and returns the elements that match a simple path 
+     * one at a time, without building the rest of the document.
+     * This works exactly like {@link #stream(InputStream, String)}.
+     * </p>
+     * 
+     * @param in the input stream from which the document is read
+     * @param baseURI an absolute URI for this document; may be null
+     * @param path the slash separated names of the elements 
+     *     to return
+     * 
+     * @return an iterator over the matching elements
+     * 
+     * @throws NullPointerException if <code>in</code> or 
+     *     <code>path</code> is null
+     * @throws IllegalArgumentException if <code>path</code> does 
+     *     not begin with a slash
+     * @throws IllegalNameException if a step in <code>path</code>
+     *     is neither an XML name nor an asterisk
+     */
+    public RecordIterator stream(InputStream in, String baseURI, 
+      String path) {
+        
+        if (in == null) throw new NullPointerException("Null InputStream");
+        String[] steps = RecordIterator.parsePath(path);
+        InputSource source = new InputSource(in);
+        if (baseURI != null) {
+            source.setSystemId(canonicalizeURL(baseURI));
+        }
+        NodeFactory records = factory;
+        if (records == null) records = new NodeFactory();
+        return new RecordIterator(this, source, records, steps);
+        
+    }
+    
+    
     /**
      * <p>
      * Parses the document at the specified URL.
@@ -991,6 +1100,121 @@ public class Builder {
     }
 
     
+    /**
+     * <p>
+     * Reads the document from the bytes between a buffer's 
+     * position and its limit. The parser reads directly from
+     * the buffer, so heap, direct, and memory mapped buffers are
+     * not copied first. The buffer's position is not changed.
+     * </p>
+     * 
+     * @param in the buffer from which the document is read
+     * 
+     * @return the parsed <code>Document</code>
+     * 
+     * @throws ValidityException if a validity error is detected; 
+     *     only thrown if the builder has been instructed to validate
+     * @throws ParsingException if a well-formedness error is detected
+     * @throws IOException if an I/O error such as a bad disk
+     *     prevents a memory mapped buffer from being read
+     * @throws NullPointerException if <code>in</code> is null
+     */
+    public Document build(ByteBuffer in) 
+      throws ParsingException, ValidityException, IOException {
+        return build(in, null);
+    }
+
+
+    /**
+     * <p>
+     * Reads the document from the bytes between a buffer's 
+     * position and its limit while specifying a base URI. 
+     * The parser reads directly from the buffer, so heap, direct, 
+     * and memory mapped buffers are not copied first. The buffer's 
+     * position is not changed.
+     * </p>
+     * 
+     * @param in the buffer from which the document is read
+     * @param baseURI an absolute URI for this document; may be null
+     * 
+     * @return the parsed <code>Document</code>
+     * 
+     * @throws ValidityException if a validity error is detected; 
+     *     only thrown if the builder has been instructed to validate
+     * @throws ParsingException if a well-formedness error is detected
+     * @throws IOException if an I/O error such as a bad disk
+     *     prevents a memory mapped buffer from being read
+     * @throws NullPointerException if <code>in</code> is null
+     */
+    public Document build(ByteBuffer in, String baseURI) 
+      throws ParsingException, ValidityException, IOException {
+
+        if (in == null) throw new NullPointerException("Null ByteBuffer");
+        return build(new ByteBufferInputStream(in), baseURI);
+        
+    }
+
+
+    /**
+     * <p>
+     * Reads the document from a channel. The channel is read
+     * until it reaches end of stream, but it is not closed.
+     * </p>
+     * 
+     * @param in the channel from which the document is read
+     * 
+     * @return the parsed <code>Document</code>
+     * 
+     * @throws ValidityException if a validity error is detected; 
+     *     only thrown if the builder has been instructed to validate
+     * @throws ParsingException if a well-formedness error is detected
+     * @throws IOException if an I/O error such as a broken 
+     *     socket prevents the document from being fully read
+     * @throws NullPointerException if <code>in</code> is null
+     * @throws java.nio.channels.IllegalBlockingModeException if
+     *     <code>in</code> is a selectable channel in non-blocking mode
+     */
+    public Document build(ReadableByteChannel in) 
+      throws ParsingException, ValidityException, IOException {
+        return build(in, null);
+    }
+
+
+    /**
+     * <p>
+     * Reads the document from a channel while specifying a base 
+     * URI. The channel is read until it reaches end of stream, 
+     * but it is not closed.
+     * </p>
+     * 
+     * @param in the channel from which the document is read
+     * @param baseURI an absolute URI for this document; may be null
+     * 
+     * @return the parsed <code>Document</code>
+     * 
+     * @throws ValidityException if a validity error is detected; 
+     *     only thrown if the builder has been instructed to validate
+     * @throws ParsingException if a well-formedness error is detected
+     * @throws IOException if an I/O error such as a broken 
+     *     socket prevents the document from being fully read
+     * @throws NullPointerException if <code>in</code> is null
+     * @throws java.nio.channels.IllegalBlockingModeException if
+     *     <code>in</code> is a selectable channel in non-blocking mode
+     */
+    public Document build(ReadableByteChannel in, String baseURI) 
+      throws ParsingException, ValidityException, IOException {
+
+        if (in == null) throw new NullPointerException("Null channel");
+        // The parser closes its input stream when it's done,
+        // but the channel belongs to the caller.
+        InputStream stream = new FilterInputStream(Channels.newInputStream(in)) {
+            public void close() {}
+        };
+        return build(stream, baseURI);
+        
+    }
+
+    
     /**
      * <p>
      * Reads the document from a reader.
@@ -1113,6 +1337,97 @@ public class Builder {
     }
     
     
+    // Parses a document with a different handler than this 
+    // builder's normal one. Used for streaming.
+    Document build(InputSource in, XOMHandler handler) 
+      throws ParsingException, ValidityException, IOException {
+        
+        XOMHandler original = (XOMHandler) parser.getContentHandler();
+        installHandler(handler);
+        try {
+            return build(in);
+        }
+        finally {
+            installHandler(original);
+        }
+        
+    }
+    
+    
+    // Starts parsing a document a piece at a time on the caller's
+    // thread, with a different handler than this builder's normal
+    // one. Used for streaming. Returns null if this builder's parser
+    // can only parse a whole document at once.
+    Steps startSteps(InputSource in, XOMHandler handler) {
+        
+        if (!(parser instanceof XML1_0Parser)) return null;
+        return new Steps(in, handler);
+        
+    }
+    
+    
+    /*
+     * A document being parsed by Xerces one piece at a time. Each 
+     * step reports at least one start-tag, end-tag, or other piece
+     * of markup to the handler. This builder's own handler is put 
+     * back once the document ends, the parse fails, or the caller
+     * stops.
+     */
+    final class Steps {
+        
+        private final InputSource in;
+        private final XOMHandler original;
+        private boolean done = false;
+        
+        
+        private Steps(InputSource in, XOMHandler handler) {
+            this.in = in;
+            this.original = (XOMHandler) parser.getContentHandler();
+            installHandler(handler);
+            ((XML1_0Parser) parser).startParsing(in);
+        }
+        
+        
+        // Returns false once the whole document has been parsed
+        boolean next() 
+          throws ParsingException, ValidityException, IOException {
+            
+            if (done) return false;
+            boolean more = false;
+            try {
+                more = ((XML1_0Parser) parser).parseSome();
+            }
+            catch (SAXException ex) {
+                throw translate(ex, in);
+            }
+            catch (RuntimeException ex) {
+                throw translate(ex, in);
+            }
+            catch (IOException ex) {
+                throw translate(ex, in);
+            }
+            finally {
+                if (!more) stop();
+            }
+            if (!more) checkValidity(null);
+            return more;
+            
+        }
+        
+        
+        void stop() {
+            
+            if (done) return;
+            done = true;
+            ((XOMHandler) parser.getContentHandler()).freeMemory();
+            ((XML1_0Parser) parser).cleanup();
+            installHandler(original);
+            
+        }
+        
+    }
+    
+    
     /**
      * <p>
      * Reads the document from a SAX <code>InputSource</code>.
@@ -1138,54 +1453,14 @@ public class Builder {
             parser.parse(in);
             result = handler.getDocument();
         }
-        catch (SAXParseException ex) {
-            ParsingException pex = new ParsingException(
-                ex.getMessage(),
-                ex.getSystemId(),
-                ex.getLineNumber(),
-                ex.getColumnNumber(),
-                ex);
-            throw pex;
-        }
         catch (SAXException ex) {
-            ParsingException pex 
-              = new ParsingException(ex.getMessage(), in.getSystemId(), ex);
-            throw pex;
-        }
-        catch (XMLException ex) {
-            throw new ParsingException(ex.getMessage(), ex);
+            throw translate(ex, in);
         }
         catch (RuntimeException ex) {
-            // Work-around for non-conformant parsers, especially Piccolo
-            ParsingException pex 
-              = new ParsingException(ex.getMessage(), in.getSystemId(), ex);
-            throw pex;
-        }
-        catch (UTFDataFormatException ex) {
-            // Work-around for non-conformant parsers, especially Xerces
-            // http://nagoya.apache.org/bugzilla/show_bug.cgi?id=27583
-            ParsingException pex 
-              = new ParsingException(ex.getMessage(), in.getSystemId(), ex);
-            throw pex;
-        }
-        catch (CharConversionException ex) {
-            // Work-around for non-conformant parsers, especially Xerces
-            // http://nagoya.apache.org/bugzilla/show_bug.cgi?id=27583
-            ParsingException pex 
-              = new ParsingException(ex.getMessage(), in.getSystemId(), ex);
-            throw pex;
+            throw translate(ex, in);
         }
         catch (IOException ex) {
-            // Work-around for Xerces; I don't want to just catch
-            // org.apache.xerces.util.URI.MalformedURIException
-            // because that would introduce a dependence on Xerces
-            if (ex.getClass().getName().equals(
-              "org.apache.xerces.util.URI$MalformedURIException")) {
-                throw new ParsingException(ex.getMessage(), in.getSystemId(), ex);
-            }
-            else {
-                throw ex;
-            }
+            throw translate(ex, in);
         }
         finally {
             handler.freeMemory();
@@ -1203,18 +1478,69 @@ public class Builder {
             result.setBaseURI(in.getSystemId());
         }
         
+        checkValidity(result);
+        return result;
+        
+    }
+    
+    
+    // Converts what the parser threw into the exception the build
+    // methods throw. IOExceptions that aren't really about I/O
+    // become ParsingExceptions; other IOExceptions are rethrown.
+    private static ParsingException translate(Exception ex, InputSource in)
+      throws IOException {
+        
+        if (ex instanceof SAXParseException) {
+            SAXParseException spex = (SAXParseException) ex;
+            return new ParsingException(
+                spex.getMessage(),
+                spex.getSystemId(),
+                spex.getLineNumber(),
+                spex.getColumnNumber(),
+                spex);
+        }
+        else if (ex instanceof XMLException) {
+            return new ParsingException(ex.getMessage(), ex);
+        }
+        else if (ex instanceof SAXException
+          || ex instanceof RuntimeException) {
+            // RuntimeException: Work-around for non-conformant 
+            // parsers, especially Piccolo
+            return new ParsingException(ex.getMessage(), in.getSystemId(), ex);
+        }
+        else if (ex instanceof UTFDataFormatException
+          || ex instanceof CharConversionException) {
+            // Work-around for non-conformant parsers, especially Xerces
+            // http://nagoya.apache.org/bugzilla/show_bug.cgi?id=27583
+            return new ParsingException(ex.getMessage(), in.getSystemId(), ex);
+        }
+        // Work-around for Xerces; I don't want to just catch
+        // org.apache.xerces.util.URI.MalformedURIException
+        // because that would introduce a dependence on Xerces
+        else if (ex.getClass().getName().equals(
+          "org.apache.xerces.util.URI$MalformedURIException")) {
+            return new ParsingException(ex.getMessage(), in.getSystemId(), ex);
+        }
+        throw (IOException) ex;
+        
+    }
+    
+    
+    // Throws the first validity error if the builder is validating
+    // and found one. A document that was built is attached to it.
+    private void checkValidity(Document result) throws ValidityException {
+        
         ErrorHandler errorHandler = parser.getErrorHandler();
         if (errorHandler instanceof ValidityRequired) {
             ValidityRequired validityHandler 
               = (ValidityRequired) errorHandler;
             if (!validityHandler.isValid())  {
                 ValidityException vex = validityHandler.vexception;
-                vex.setDocument(result);
+                if (result != null) vex.setDocument(result);
                 validityHandler.reset();
                 throw vex;
             }      
         }        
-        return result;
         
     }
     
@@ -1283,6 +1609,22 @@ public class Builder {
     }
 
     
+    // Called when a pooled builder is returned, in case the last 
+    // parse didn't clean up after itself
+    void reset() {
+        
+        ContentHandler handler = parser.getContentHandler();
+        if (handler instanceof XOMHandler) {
+            ((XOMHandler) handler).freeMemory();
+        }
+        ErrorHandler errorHandler = parser.getErrorHandler();
+        if (errorHandler instanceof ValidityRequired) {
+            ((ValidityRequired) errorHandler).reset();
+        }
+        
+    }
+    
+    
     // I added this because XIncluder needed it.
     /**
      * <p>
@@ -0,0 +1,489 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *   A bounded pool of <code>Builder</code> objects that can be
+ *   shared among threads. A <code>Builder</code> is not
+ *   thread-safe, and creating one is relatively expensive because
+ *   it has to locate and configure a SAX parser. A pool creates
+ *   builders as they're needed, up to a fixed maximum, and reuses
+ *   them afterwards. When all the builders are in use, threads wait
+ *   for one to be returned.
+ * </p>
+ *
+ * <p>
+ *   The simplest way to use a pool is to call one of its
+ *   <code>build</code> methods, which borrow a builder, parse the
+ *   document, and return the builder. Alternatively, you can
+ *   <code>borrow</code> a builder, use it as many times as you like
+ *   from a single thread, and then <code>release</code> it:
+ * </p>
+ *
+ * <pre><code>  Builder builder = pool.borrow();
+ *   try {
+ *       Document doc = builder.build(in);
+ *       ...
+ *   }
+ *   finally {
+ *       pool.release(builder);
+ *   }</code></pre>
+ *
+ * <p>
+ *   All the builders in a pool share the same node factory,
+ *   so the factory must be safe to use from several threads
+ *   at once. The default <code>NodeFactory</code> is.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public final class BuilderPool {
+
+
+    private final int capacity;
+    private final boolean validate;
+    private final NodeFactory factory;
+
+    // Idle builders are reused last in, first out because the
+    // most recently used parser is most likely to still be warm.
+    private final List<Builder> idle;
+    private final Map<Builder, Boolean> borrowed
+      = new IdentityHashMap<Builder, Boolean>();
+    private int size = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long waits = 0;
+
+
+    /**
+     * <p>
+     * Creates a pool of non-validating builders that use the
+     * default node factory.
+     * </p>
+     *
+     * @param capacity the maximum number of builders in the pool
+     *
+     * @throws IllegalArgumentException if <code>capacity</code>
+     *     is less than 1
+     */
+    public BuilderPool(int capacity) {
+        this(capacity, false, null);
+    }
+
+
+    /**
+     * <p>
+     * Creates a pool of optionally validating builders that use
+     * the specified node factory.
+     * </p>
+     *
+     * @param capacity the maximum number of builders in the pool
+     * @param validate true if the builders should validate
+     *     documents while parsing
+     * @param factory the <code>NodeFactory</code> shared by
+     *     all the builders; may be null
+     *
+     * @throws IllegalArgumentException if <code>capacity</code>
+     *     is less than 1
+     */
+    public BuilderPool(int capacity, boolean validate,
+      NodeFactory factory) {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+              "Pool capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.validate = validate;
+        this.factory = factory;
+        this.idle = new ArrayList<Builder>(capacity);
+
+    }
+
+
+    /**
+     * <p>
+     * Takes a builder out of the pool for the exclusive use of the
+     * calling thread. If no builder is idle and the pool is not yet
+     * full, a new one is created. Otherwise this method waits until
+     * another thread releases one.
+     * </p>
+     *
+     * @return a builder that must later be passed to
+     *     <code>release</code>
+     *
+     * @throws InterruptedException if the thread is interrupted
+     *     while waiting for a builder
+     * @throws XMLException if no satisfactory parser
+     *     is installed in the local class path
+     */
+    public Builder borrow() throws InterruptedException {
+
+        synchronized (this) {
+            if (idle.isEmpty() && size == capacity) {
+                waits++;
+                do {
+                    wait();
+                } while (idle.isEmpty() && size == capacity);
+            }
+            if (!idle.isEmpty()) {
+                hits++;
+                Builder builder = idle.remove(idle.size() - 1);
+                borrowed.put(builder, Boolean.TRUE);
+                return builder;
+            }
+            misses++;
+            size++;
+        }
+
+        // Creating the builder is the slow part,
+        // so don't hold the lock while doing it.
+        Builder builder;
+        try {
+            builder = new Builder(validate, factory);
+        }
+        catch (RuntimeException ex) {
+            synchronized (this) {
+                size--;
+                notify();
+            }
+            throw ex;
+        }
+        synchronized (this) {
+            borrowed.put(builder, Boolean.TRUE);
+        }
+        return builder;
+
+    }
+
+
+    /**
+     * <p>
+     * Returns a builder to the pool so another thread can use it.
+     * The builder must not be used again by the caller.
+     * </p>
+     *
+     * @param builder a builder previously obtained from
+     *     this pool's <code>borrow</code> method
+     *
+     * @throws IllegalArgumentException if the builder was not
+     *     borrowed from this pool, or has already been released
+     * @throws NullPointerException if <code>builder</code> is null
+     */
+    public void release(Builder builder) {
+
+        if (builder == null) {
+            throw new NullPointerException("Null builder");
+        }
+        synchronized (this) {
+            if (borrowed.remove(builder) == null) {
+                throw new IllegalArgumentException(
+                  "Builder was not borrowed from this pool");
+            }
+        }
+        builder.reset();
+        synchronized (this) {
+            idle.add(builder);
+            notify();
+        }
+
+    }
+
+
+    /**
+     * <p>
+     * Parses a document from an input stream with a pooled builder.
+     * </p>
+     *
+     * @param in the input stream from which the document is read
+     *
+     * @return the parsed <code>Document</code>
+     *
+     * @throws ValidityException if a validity error is detected;
+     *     only thrown if the pool's builders validate
+     * @throws ParsingException if a well-formedness error is detected
+     * @throws IOException if an I/O error such as a broken
+     *     socket prevents the document from being fully read, or
+     *     the thread is interrupted while waiting for a builder
+     * @throws NullPointerException if <code>in</code> is null
+     */
+    public Document build(InputStream in)
+      throws ParsingException, ValidityException, IOException {
+
+        Builder builder = acquire();
+        try {
+            return builder.build(in);
+        }
+        finally {
+            release(builder);
+        }
+
+    }
+
+
+    /**
+     * <p>
+     * Parses a document from an input stream with a pooled builder
+     * while specifying a base URI.
+     * </p>
+     *
+     * @param in the input stream from which the document is read
+     * @param baseURI an absolute URI for this document; may be null
+     *
+     * @return the parsed <code>Document</code>
+     *
+     * @throws ValidityException if a validity error is detected;
+     *     only thrown if the pool's builders validate
+     * @throws ParsingException if a well-formedness error is detected
+     * @throws IOException if an I/O error such as a broken
+     *     socket prevents the document from being fully read, or
+     *     the thread is interrupted while waiting for a builder
+     */
+    public Document build(InputStream in, String baseURI)
+      throws ParsingException, ValidityException, IOException {
+
+        Builder builder = acquire();
+        try {
+            return builder.build(in, baseURI);
+        }
+        finally {
+            release(builder);
+        }
+
+    }
+
+
+    /**
+     * <p>
+     * Parses a document from a reader with a pooled builder
+     * while specifying a base URI.
+     * </p>
+     *
+     * @param in the reader from which the document is read
+     * @param baseURI an absolute URI for this document; may be null
+     *
+     * @return the parsed <code>Document</code>
+     *
+     * @throws ValidityException if a validity error is detected;
+     *     only thrown if the pool's builders validate
+     * @throws ParsingException if a well-formedness error is detected
+     * @throws IOException if an I/O error such as a broken
+     *     socket prevents the document from being fully read, or
+     *     the thread is interrupted while waiting for a builder
+     */
+    public Document build(Reader in, String baseURI)
+      throws ParsingException, ValidityException, IOException {
+
+        Builder builder = acquire();
+        try {
+            return builder.build(in, baseURI);
+        }
+        finally {
+            release(builder);
+        }
+
+    }
+
+
+    /**
+     * <p>
+     * Parses a document from a file with a pooled builder.
+     * </p>
+     *
+     * @param in the file from which the document is read
+     *
+     * @return the parsed <code>Document</code>
+     *
+     * @throws ValidityException if a validity error is detected;
+     *     only thrown if the pool's builders validate
+     * @throws ParsingException if a well-formedness error is detected
+     * @throws IOException if an I/O error such as a bad disk
+     *     prevents the file from being read, or the thread is
+     *     interrupted while waiting for a builder
+     */
+    public Document build(File in)
+      throws ParsingException, ValidityException, IOException {
+
+        Builder builder = acquire();
+        try {
+            return builder.build(in);
+        }
+        finally {
+            release(builder);
+        }
+
+    }
+
+
+    /**
+     * <p>
+     * Parses the document at the specified URL with a
+     * pooled builder.
+     * </p>
+     *
+     * @param systemID an absolute URL from which the document is read
+     *
+     * @return the parsed <code>Document</code>
+     *
+     * @throws ValidityException if a validity error is detected;
+     *     only thrown if the pool's builders validate
+     * @throws ParsingException if a well-formedness error is detected
+     * @throws IOException if an I/O error such as a broken
+     *     socket prevents the document from being fully read, or
+     *     the thread is interrupted while waiting for a builder
+     */
+    public Document build(String systemID)
+      throws ParsingException, ValidityException, IOException {
+
+        Builder builder = acquire();
+        try {
+            return builder.build(systemID);
+        }
+        finally {
+            release(builder);
+        }
+
+    }
+
+
+    private Builder acquire() throws InterruptedIOException {
+
+        try {
+            return borrow();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException iex = new InterruptedIOException(
+              "Interrupted while waiting for a builder");
+            iex.initCause(ex);
+            throw iex;
+        }
+
+    }
+
+
+    /**
+     * <p>
+     * Returns the maximum number of builders this pool creates.
+     * </p>
+     *
+     * @return the capacity of this pool
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    /**
+     * <p>
+     * Returns the number of builders this pool has created so far,
+     * whether currently idle or borrowed.
+     * </p>
+     *
+     * @return the number of builders in this pool
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+
+    /**
+     * <p>
+     * Returns the number of builders waiting to be borrowed.
+     * </p>
+     *
+     * @return the number of idle builders
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+
+    /**
+     * <p>
+     * Returns the number of times <code>borrow</code> reused an
+     * idle builder.
+     * </p>
+     *
+     * @return the number of borrows satisfied by an idle builder
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+
+    /**
+     * <p>
+     * Returns the number of times <code>borrow</code> created
+     * a new builder because none was idle.
+     * </p>
+     *
+     * @return the number of builders created
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+
+    /**
+     * <p>
+     * Returns the number of times <code>borrow</code> had to wait
+     * because every builder the pool may create was in use.
+     * </p>
+     *
+     * @return the number of borrows that waited
+     */
+    public synchronized long getWaits() {
+        return waits;
+    }
+
+
+    /**
+     * <p>
+     * Returns a string form of this <code>BuilderPool</code>
+     * suitable for debugging and diagnosis.
+     * </p>
+     *
+     * @return a string representation of this pool's state
+     */
+    public synchronized String toString() {
+        return "[" + getClass().getName() + ": size=" + size
+          + ", capacity=" + capacity + ", idle=" + idle.size()
+          + ", hits=" + hits + ", misses=" + misses
+          + ", waits=" + waits + "]";
+    }
+
+
+}
@@ -0,0 +1,81 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ *   Lets the parser read straight out of a <code>ByteBuffer</code>,
+ *   whether heap, direct, or memory mapped, so the document never
+ *   has to be copied into an intermediate array first. The bytes
+ *   between the buffer's position and limit are read. The buffer's
+ *   own position is not changed.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+    }
+
+
+    public int read() {
+        if (!buffer.hasRemaining()) return -1;
+        return buffer.get() & 0xFF;
+    }
+
+
+    public int read(byte[] data, int offset, int length) {
+
+        if (length == 0) return 0;
+        int remaining = buffer.remaining();
+        if (remaining == 0) return -1;
+        if (length > remaining) length = remaining;
+        buffer.get(data, offset, length);
+        return length;
+
+    }
+
+
+    public long skip(long n) {
+
+        if (n <= 0) return 0;
+        int skipped = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+
+    }
+
+
+    public int available() {
+        return buffer.remaining();
+    }
+
+}
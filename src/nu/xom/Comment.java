@@ -31,7 +31,7 @@ package nu.xom;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.0
+ * @version 1.5.0
  * 
  */
 public class Comment extends Node {
@@ -105,8 +105,11 @@ public class Comment extends Node {
      * </p>
      * 
      * @param data the text to install in the comment
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setValue(String data) {
+        checkNotFrozen();
         _setValue(data);
     }
 
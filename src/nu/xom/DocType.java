@@ -52,7 +52,7 @@ package nu.xom;
  * </ul>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.1d1
+ * @version 1.5.0
  * 
  */
 public class DocType extends Node {
@@ -184,8 +184,11 @@ public class DocType extends Node {
      * 
      * @throws IllegalNameException if the root element name is not 
      *     a legal XML 1.0 name
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setRootElementName(String name) {
+        checkNotFrozen();
         _setRootElementName(name);
     }
 
@@ -229,9 +232,12 @@ public class DocType extends Node {
      *     a legal XML 1.0 internal DTD subset
      * 
      * @since 1.1
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public final void setInternalDTDSubset(String subset) {
         
+        checkNotFrozen();
         if (subset != null && subset.length() > 0) {
             Verifier.checkInternalDTDSubset(subset);
             fastSetInternalDTDSubset(subset);
@@ -276,8 +282,11 @@ public class DocType extends Node {
      * @throws IllegalDataException if the public ID does not satisfy
      *      the rules for public IDs in XML 1.0
      * @throws WellformednessException if no system ID has been set
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setPublicID(String id) {  
+        checkNotFrozen();
         _setPublicID(id);     
     }   
 
@@ -350,8 +359,11 @@ public class DocType extends Node {
      *     identifier 
      * @throws WellformednessException if the public ID is non-null 
      *     and you attempt to remove the system ID
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setSystemID(String id) {
+        checkNotFrozen();
         _setSystemID(id);
     }
 
@@ -20,6 +20,11 @@
 
 package nu.xom;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * <p>
  * The <code>Document</code> class represents
@@ -28,11 +33,17 @@ package nu.xom;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.0
+ * @version 1.5.0
  * 
  */
 public class Document extends ParentNode {
 
+    
+    // written last by freeze() so that reading it publishes the
+    // frozen tree to other threads
+    private volatile boolean readOnly = false;
+    
+
     /**
      * <p>
      * Creates a new <code>Document</code> object with the
@@ -52,7 +63,10 @@ public class Document extends ParentNode {
     
     /**
      * <p>
-     * Creates a copy of this document.
+     * Creates a copy of this document. Copying a frozen document
+     * is cheap. The elements in the copy are only created as they
+     * are accessed, so a copy in which only a few nodes are read
+     * or changed costs little more than those nodes.
      * </p>
      * 
      * @param doc the document to copy
@@ -119,6 +133,30 @@ public class Document extends ParentNode {
     }
     
 
+    final void insertionAllowed(Node[] nodes, int position) {
+        
+        boolean doctype = false;
+        Set<Node> added = new HashSet<Node>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            Node child = nodes[i];
+            insertionAllowed(child, position);
+            if (!added.add(child)) {
+                throw new MultipleParentException(
+                  "Child inserted more than once.");
+            }
+            if (child.isDocType()) {
+                if (doctype) {
+                    throw new IllegalAddException(
+                      "Tried to insert a second DOCTYPE"
+                    );   
+                }
+                doctype = true;
+            }
+        }
+        
+    }
+    
+
     private int getRootPosition() {
         
         // This looks like an infinite loop but it isn't
@@ -170,10 +208,13 @@ public class Document extends ParentNode {
      * @throws MultipleParentException if <code>doctype</code> belongs 
      *      to another document
      * @throws NullPointerException if <code>doctype</code> is null
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      * 
      */
     public void setDocType(DocType doctype) {
         
+        checkNotFrozen();
         DocType oldDocType = getDocType();
         if (doctype == null) {
             throw new NullPointerException("Null DocType");
@@ -226,9 +267,12 @@ public class Document extends ParentNode {
      * 
      * @throws MultipleParentException if root has a parent
      * @throws NullPointerException if root is null
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setRootElement(Element root) {
         
+        checkNotFrozen();
         Element oldRoot = this.getRootElement(); 
         if (root == oldRoot) return;
         else if (root == null) {
@@ -243,12 +287,192 @@ public class Document extends ParentNode {
         int index = indexOf(oldRoot);
         
         oldRoot.setParent(null);
-        children[index] = root;
+        oldRoot.clearInScopeNamespaces();
+        fastSetChild(index, root);
         root.setParent(this);
+        root.clearInScopeNamespaces();
         
     }
     
     
+    /**
+     * <p>
+     * Returns the first element in document order that has an
+     * attribute of type ID with the specified value, or null if
+     * there is no such element. Leading and trailing white space
+     * in ID attribute values is ignored. <code>xml:id</code>
+     * attributes always have type ID. Other attributes have type
+     * ID only if the DTD declares them so.
+     * </p>
+     * 
+     * <p>
+     * The first call builds an index of all the IDs in the
+     * document, so later lookups take constant time. Any change
+     * to the document's elements or attributes discards the index,
+     * and the next lookup builds it again.
+     * </p>
+     * 
+     * @param id the ID to search for
+     * 
+     * @return the element with the specified ID, or null
+     * 
+     * @throws NullPointerException if <code>id</code> is null
+     */
+    public final Element getElementByID(String id) {
+        
+        if (id == null) {
+            throw new NullPointerException("Null ID");
+        }
+        return getIDIndex().get(id);
+        
+    }
+    
+    
+    // The index belongs to the numbering of this document's tree,
+    // which every parent node in the tree shares. Adding or removing
+    // a child or an attribute anywhere in the tree invalidates the
+    // numbering, so the index is discarded along with it without 
+    // having to find the document. Changing the value or type of an
+    // ID attribute discards just the index, through the attribute's
+    // parent element.
+    private Map<String, Element> getIDIndex() {
+        
+        DocumentOrder.Numbering current = numbering;
+        if (current == null || !current.valid) {
+            current = DocumentOrder.number(this);
+        }
+        Map<String, Element> index = current.ids;
+        if (index == null) {
+            index = buildIDIndex();
+            current.ids = index;
+        }
+        return index;
+        
+    }
+    
+    
+    private Map<String, Element> buildIDIndex() {
+        
+        Map<String, Element> index = new HashMap<String, Element>();
+        ElementWalker walker = new ElementWalker(getRootElement());
+        Element element;
+        while ((element = walker.next()) != null) {
+            int count = element.getAttributeCount();
+            for (int i = 0; i < count; i++) {
+                Attribute attribute = element.getAttribute(i);
+                if (attribute.getType() == Attribute.Type.ID) {
+                    String id = attribute.getValue().trim();
+                    if (!index.containsKey(id)) index.put(id, element);
+                }
+            }
+        }
+        return index;
+        
+    }
+
+    
+    /**
+     * <p>
+     * Makes this document and every node in it read-only.
+     * Afterwards any attempt to change the document, such as
+     * adding or removing a child, setting an attribute value,
+     * or renaming an element, throws a
+     * <code>ReadOnlyException</code>. A frozen document cannot
+     * be thawed. Copies of a frozen document or of any node in
+     * it are not frozen, however.
+     * </p>
+     * 
+     * <p>
+     * Once this method returns, the document can be shared among
+     * threads without copying it or locking it. Any number of 
+     * threads can query it, serialize it, canonicalize it, and
+     * read its values at the same time, provided each thread
+     * obtains the document only after it was frozen; for example
+     * through a <code>final</code> or <code>volatile</code> field,
+     * a concurrent collection, or by calling <code>isFrozen</code>
+     * and seeing true.
+     * </p>
+     * 
+     * <p>
+     * Freezing also builds the index used by
+     * <code>getElementByID</code>, so ID lookups on a frozen
+     * document never need to change it.
+     * </p>
+     * 
+     * <p>
+     * Since a frozen document can't change, freezing also makes it
+     * smaller. Child and attribute lists are trimmed to size, and
+     * nodes with equal names, namespace URIs, or short values
+     * share a single copy of them.
+     * </p>
+     */
+    public final void freeze() {
+        
+        if (readOnly) return;
+        trimChildren();
+        ValuePool pool = new ValuePool();
+        ElementWalker walker = new ElementWalker(getRootElement());
+        Element element;
+        while ((element = walker.next()) != null) {
+            element.compact(pool);
+            int count = element.getChildCount();
+            for (int i = 0; i < count; i++) {
+                Node child = element.getChild(i);
+                if (child.isText()) ((Text) child).compact(pool);
+            }
+        }
+        // The numbering is shared by every parent node in the tree,
+        // and can't be invalidated once nothing can change the tree.
+        getIDIndex();
+        numbering.frozen = true;
+        readOnly = true;
+        
+    }
+    
+    
+    // Every base URI cached in the document was computed in the
+    // root element's epoch, so invalidating that discards them all.
+    void invalidateBaseURIs() {
+        
+        int count = getChildCount();
+        for (int i = 0; i < count; i++) {
+            Node child = getChild(i);
+            if (child.isElement()) {
+                ((Element) child).invalidateBaseURIs();
+                return;
+            }
+        }
+        
+    }
+    
+    
+    void measure(MemoryUsage usage) {
+        
+        usage.addDocument();
+        usage.addString(actualBaseURI);
+        DocumentOrder.Numbering current = numbering;
+        if (current != null && current.valid && current.ids != null) {
+            usage.addIDIndex(current.ids.size());
+        }
+        
+    }
+    
+    
+    /**
+     * <p>
+     * Returns true if this document has been frozen and can no
+     * longer be changed. A thread that sees true here also sees
+     * the complete frozen tree.
+     * </p>
+     * 
+     * @return true if <code>freeze</code> has been called on
+     *     this document
+     */
+    public final boolean isFrozen() {
+        return readOnly;
+    }
+    
+    
     /**
      * <p>
      * Sets the URI from which this document was loaded, and
@@ -261,8 +485,11 @@ public class Document extends ParentNode {
      * 
      * @throws MalformedURIException if <code>URI</code> is 
      *     not a legal absolute URI
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setBaseURI(String URI) { 
+        checkNotFrozen();
         setActualBaseURI(URI);       
     }
     
@@ -299,6 +526,8 @@ public class Document extends ParentNode {
      *    greater than the number of children of this document - 1
      * @throws WellformednessException if the index points 
      *     to the root element
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public Node removeChild(int position) {
         
@@ -327,6 +556,8 @@ public class Document extends ParentNode {
      * @throws NoSuchChildException if the node is not a
      *   child of this node
      * @throws WellformednessException if child is the root element
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public Node removeChild(Node child) {
         
@@ -338,6 +569,39 @@ public class Document extends ParentNode {
         
     }
 
+
+    /**
+     * <p>
+     * Removes the children of this document from position 
+     * <code>from</code> up to but not including position 
+     * <code>to</code>. The root element cannot be removed.
+     * </p>
+     * 
+     * @param from the position of the first child to remove
+     * @param to the position after the last child to remove
+     *
+     * @return the nodes which were removed
+     * 
+     * @throws IndexOutOfBoundsException if <code>from</code> is 
+     *     negative, <code>to</code> is greater than the number of 
+     *     children of this document, or <code>from</code> is greater 
+     *     than <code>to</code>
+     * @throws WellformednessException if the root element is
+     *     between <code>from</code> and <code>to</code>
+     * @throws ReadOnlyException if this document is frozen
+     */
+    public Nodes removeChildren(int from, int to) {
+        
+        int root = getRootPosition();
+        if (from <= root && root < to) {
+            throw new WellformednessException(
+              "Cannot remove the root element"
+            );
+        }
+        return super.removeChildren(from, to);
+        
+    }
+
     
     /**
      * <p>
@@ -360,6 +624,8 @@ public class Document extends ParentNode {
      * @throws WellformednessException if <code>newChild</code> 
      *     <code>oldChild</code> is an element and 
      *     <code>newChild</code> is not
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void replaceChild(Node oldChild, Node newChild) {
           
@@ -427,7 +693,9 @@ public class Document extends ParentNode {
     
     /**
      * <p>
-     * Returns a complete copy of this document.
+     * Returns a complete copy of this document. If this document
+     * is frozen, its elements are copied lazily as they are
+     * accessed.
      * </p>
      * 
      * @return a deep copy of this <code>Document</code> object
@@ -457,4 +725,67 @@ public class Document extends ParentNode {
     }
 
     
+    // Iterates over the elements in a subtree in document order
+    // without recursion. The positions stack avoids calling 
+    // indexOf, which is linear in the number of siblings.
+    private static final class ElementWalker {
+        
+        private final Element top;
+        private Node current;
+        private int[] positions = new int[16];
+        private int depth = 0;
+        private boolean done = false;
+        
+        
+        ElementWalker(Element top) {
+            this.top = top;
+        }
+        
+        
+        Element next() {
+            
+            if (done) return null;
+            if (current == null) {
+                current = top;
+                return top;
+            }
+            Node node = current;
+            while (true) {
+                if (node.getChildCount() > 0) {
+                    if (depth == positions.length) {
+                        int[] temp = new int[depth * 2];
+                        System.arraycopy(positions, 0, temp, 0, depth);
+                        positions = temp;
+                    }
+                    positions[depth++] = 0;
+                    node = node.getChild(0);
+                }
+                else {
+                    while (true) {
+                        if (depth == 0) {
+                            done = true;
+                            return null;
+                        }
+                        ParentNode parent = node.getParent();
+                        int position = positions[depth-1] + 1;
+                        if (position < parent.getChildCount()) {
+                            positions[depth-1] = position;
+                            node = parent.getChild(position);
+                            break;
+                        }
+                        depth--;
+                        node = parent;
+                    }
+                }
+                if (node.isElement()) {
+                    current = node;
+                    return (Element) node;
+                }
+            }
+            
+        }
+        
+    }
+
+    
 }
\ No newline at end of file
@@ -29,7 +29,7 @@ package nu.xom;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.2d1
+ * @version 1.5.0
  *
  */
 class DocumentFragment extends ParentNode {
@@ -39,6 +39,11 @@ class DocumentFragment extends ParentNode {
     }
 
 
+    void insertionAllowed(Node[] nodes, int position) {
+        // Everything can be inserted
+    }
+
+
     public void setBaseURI(String URI) {
         throw new UnsupportedOperationException("XOM bug");
     }
@@ -0,0 +1,287 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *   Compares nodes by their position in document order as defined
+ *   by XPath 1.0. Each node comes after its parent element and
+ *   before its following siblings. An element's namespace nodes
+ *   come after the element and before its attributes, and its
+ *   attributes come before its children. Namespace nodes of the
+ *   same element are considered equal, as are a node and itself.
+ * </p>
+ *
+ * <p>
+ *   The first comparison involving a tree numbers every node
+ *   in it in a single pass. Later comparisons take constant time
+ *   until the tree changes, and the first comparison after a
+ *   change numbers the tree again. Sorting <i>n</i> nodes
+ *   therefore takes <i>O(n log n)</i> time plus one walk over the
+ *   tree. The numbers are kept in a table beside the tree rather
+ *   than in the nodes, and discarded when the tree changes.
+ *   Comparators can sort the nodes of a frozen document in
+ *   several threads at once.
+ * </p>
+ *
+ * <p>
+ *   The tree need not be a document. Nodes in an element
+ *   that has no parent can be compared with each other too.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public final class DocumentOrder implements Comparator<Node> {
+
+
+    /**
+     * <p>
+     * Creates a new document order comparator. Comparators
+     * have no state of their own, so one can be shared freely.
+     * </p>
+     */
+    public DocumentOrder() {}
+
+
+    /**
+     * <p>
+     * Compares two nodes by their position in document order.
+     * </p>
+     *
+     * @param first the first node to compare
+     * @param second the second node to compare
+     *
+     * @return a negative integer if <code>first</code> precedes
+     *     <code>second</code>, a positive integer if it follows
+     *     <code>second</code>, and zero if it is the same node,
+     *     or if both are namespace nodes of the same element
+     *
+     * @throws IllegalArgumentException if the nodes are not
+     *     in the same tree
+     * @throws NullPointerException if either node is null
+     */
+    public int compare(Node first, Node second) {
+
+        if (first == null || second == null) {
+            throw new NullPointerException("Cannot compare null node");
+        }
+        if (first == second) return 0;
+
+        Numbering numbering = getNumbering(first);
+        if (numbering == null) numbering = number(first);
+        Numbering other = getNumbering(second);
+        if (other == null) other = number(second);
+        if (numbering != other) {
+            throw new IllegalArgumentException(
+              "Cannot compare nodes from different trees");
+        }
+
+        Positions positions = numbering.positions;
+        if (positions == null) {
+            // Any number of threads may get here at once for a
+            // frozen document. Each builds an identical table, and
+            // final fields make whichever is kept safe to share.
+            positions = new Positions(walk(
+              (ParentNode) first.getRoot(), null, new ArrayList<Node>()));
+            numbering.positions = positions;
+        }
+        return getOrder(positions, first) - getOrder(positions, second);
+
+    }
+
+
+    // Namespace nodes aren't in the tree, so they don't have
+    // numbers of their own. The odd number between an element and
+    // its first attribute is reserved for them.
+    private static int getOrder(Positions positions, Node node) {
+        if (node instanceof Namespace) {
+            return positions.get(node.getParent()) + 1;
+        }
+        return positions.get(node);
+    }
+
+
+    // Returns the current numbering of the tree containing this
+    // node, or null if that tree changed since it was last numbered.
+    private static Numbering getNumbering(Node node) {
+
+        ParentNode holder;
+        if (node instanceof ParentNode) holder = (ParentNode) node;
+        else holder = node.getParent();
+        if (holder == null) return null;
+        Numbering numbering = holder.numbering;
+        if (numbering == null || !numbering.valid) return null;
+        return numbering;
+
+    }
+
+
+    private static Numbering number(Node node) {
+
+        Node root = node.getRoot();
+        if (!(root instanceof ParentNode)) {
+            // a parentless leaf is a tree of one node,
+            // and can only be compared with itself
+            throw new IllegalArgumentException(
+              "Cannot compare nodes from different trees");
+        }
+        return number((ParentNode) root);
+
+    }
+
+
+    // Stamps every parent node in the tree with a new numbering.
+    // The positions themselves aren't computed until two nodes
+    // are compared, so trees that are never sorted don't pay for
+    // them.
+    static Numbering number(ParentNode root) {
+        Numbering numbering = new Numbering();
+        walk(root, numbering, null);
+        return numbering;
+    }
+
+
+    // Visits the tree in preorder, stamping each parent node with
+    // the numbering if there is one, and adding each node and then
+    // its attributes to the list if there is one.
+    private static List<Node> walk(
+      ParentNode root, Numbering numbering, List<Node> nodes) {
+
+        int[] positions = new int[16];
+        int depth = 0;
+        Node node = root;
+        while (true) {
+            if (nodes != null) {
+                nodes.add(node);
+                if (node.isElement()) {
+                    Element element = (Element) node;
+                    int attributeCount = element.getAttributeCount();
+                    for (int i = 0; i < attributeCount; i++) {
+                        nodes.add(element.getAttribute(i));
+                    }
+                }
+            }
+            if (numbering != null && node instanceof ParentNode) {
+                ((ParentNode) node).numbering = numbering;
+            }
+            if (node.getChildCount() > 0) {
+                if (depth == positions.length) {
+                    int[] temp = new int[depth * 2];
+                    System.arraycopy(positions, 0, temp, 0, depth);
+                    positions = temp;
+                }
+                positions[depth++] = 0;
+                node = node.getChild(0);
+                continue;
+            }
+            // climb until there's a following sibling
+            while (true) {
+                if (depth == 0) return nodes;
+                ParentNode parent = node.getParent();
+                int position = positions[depth-1] + 1;
+                if (position < parent.getChildCount()) {
+                    positions[depth-1] = position;
+                    node = parent.getChild(position);
+                    break;
+                }
+                depth--;
+                node = parent;
+            }
+        }
+
+    }
+
+
+    // The preorder position of every node and attribute in one
+    // tree, counting by two so that namespace nodes fit in between.
+    // This is an open addressed hash table keyed by identity. It
+    // holds the numbers outside the nodes, so that nodes don't
+    // each need a field for them.
+    private static final class Positions {
+
+        private final Node[] keys;
+        private final int[] values;
+
+        Positions(List<Node> nodes) {
+
+            int size = nodes.size();
+            // at most half full, so probes stay short
+            int capacity = Integer.highestOneBit(size) * 4;
+            keys = new Node[capacity];
+            values = new int[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < size; i++) {
+                Node node = nodes.get(i);
+                int slot = hash(node) & mask;
+                while (keys[slot] != null) slot = (slot + 1) & mask;
+                keys[slot] = node;
+                values[slot] = 2 * i;
+            }
+
+        }
+
+        int get(Node node) {
+
+            int mask = keys.length - 1;
+            int slot = hash(node) & mask;
+            while (keys[slot] != node) slot = (slot + 1) & mask;
+            return values[slot];
+
+        }
+
+        private static int hash(Node node) {
+            int hash = System.identityHashCode(node);
+            return hash ^ (hash >>> 16);
+        }
+
+    }
+
+
+    // One numbering of one tree. Every parent node in the tree
+    // points to it, and any change to the tree marks it invalid.
+    // Other data derived from the same unchanged tree is kept here
+    // too, so that it's discarded in constant time along with the
+    // numbering.
+    static final class Numbering {
+
+        boolean valid = true;
+        // True once the tree is a frozen document. Since the tree
+        // can't change, the numbering stays valid forever.
+        boolean frozen = false;
+        // Maps each ID value to the first element in document order
+        // that has an attribute of type ID with that value. Built
+        // on demand by Document.getElementByID.
+        Map<String, Element> ids;
+        // The position of each node. Built on demand by the
+        // first comparison of two nodes in the tree.
+        Positions positions;
+
+    }
+
+
+}
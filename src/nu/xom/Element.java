@@ -20,9 +20,12 @@
 
 package nu.xom;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -45,7 +48,7 @@ import java.util.LinkedHashSet;
  * </ul>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.1
+ * @version 1.5.0
  *
  */
 public class Element extends ParentNode {
@@ -57,6 +60,12 @@ public class Element extends ParentNode {
     private Attribute[] attributes = null;
     private int         numAttributes = 0;
             Namespaces  namespaces = null;
+    // Allocated the first time this element needs one of the
+    // things it holds. Most elements never do.
+    private Extras extras = null;
+    // Only elements with more than ATTRIBUTE_INDEX_THRESHOLD 
+    // attributes have an index; smaller ones are searched linearly.
+    private final static int ATTRIBUTE_INDEX_THRESHOLD = 16;
 
     /**
      * <p>
@@ -139,12 +148,14 @@ public class Element extends ParentNode {
         
     }
 
-
+    
     /**
      * <p>
      * Creates a deep copy of an element.
      * The copy is disconnected from the tree, and does not
-     * have a parent.
+     * have a parent. If the element belongs to a frozen document,
+     * its descendants are copied lazily, as described for 
+     * {@link #copy() copy}.
      * </p>
      * 
      * @param element the element to copy
@@ -165,11 +176,25 @@ public class Element extends ParentNode {
         if (element.attributes != null) {
             this.attributes = element.copyAttributes(this);
             this.numAttributes = element.numAttributes;
+            this.indexAttributes();
         } 
         
         this.actualBaseURI = element.findActualBaseURI();
         
-        copyChildren(element, this);
+        this.original = element.getSharableOriginal();
+        if (this.original == null) copyChildren(element, this);
+        
+    }
+    
+    
+    // Returns a frozen element whose children a copy of this element
+    // can copy later instead of right away, or null if the children
+    // have to be copied now. 
+    private Element getSharableOriginal() {
+        
+        if (original != null) return original;
+        if (childCount > 0 && inFrozenTree()) return this;
+        return null;
         
     }
     
@@ -187,7 +212,7 @@ public class Element extends ParentNode {
     }
     
     
-    private static Element copyTag(final Element source) {
+    static Element copyTag(final Element source) {
         
         Element result = source.shallowCopy();
         
@@ -200,6 +225,7 @@ public class Element extends ParentNode {
         if (source.attributes != null) {
             result.attributes = source.copyAttributes(result);
             result.numAttributes = source.numAttributes;
+            result.indexAttributes();
         } 
         
         result.actualBaseURI = source.findActualBaseURI();
@@ -395,17 +421,110 @@ public class Element extends ParentNode {
     public final Element getFirstChildElement(String localName, 
      String namespaceURI) {
         
-        for (int i = 0; i < getChildCount(); i++) {
-            Node child = getChild(i);
-            if (child.isElement()) {
-                Element element = (Element) child;
-                if (localName.equals(element.getLocalName())
-                  && namespaceURI.equals(element.getNamespaceURI())) {
-                    return element;
-                }   
-            }
+        if (localName == null) {
+            throw new NullPointerException("Null local name");
         }
-        return null;    
+        return findChildElement(0, localName, namespaceURI);
+        
+    }
+
+
+    /**
+     * <p>
+     * Returns the first child element of this element,
+     * or null if this element has no child elements.
+     * Together with {@link #getNextSiblingElement()
+     * getNextSiblingElement}, this walks the child elements
+     * without creating a list: 
+     * </p>
+     * 
+     * <pre><code>  for (Element child = parent.getFirstChildElement(); 
+     *       child != null; 
+     *       child = child.getNextSiblingElement()) {
+     *      ...
+     *  }</code></pre>
+     * 
+     * <p>
+     * Neither method allocates any objects, and each step takes
+     * constant time apart from skipping over non-element children. 
+     * Unlike the list returned by <code>getChildElements</code>, 
+     * this is live. Removing the current child element from the 
+     * tree ends the walk early.
+     * </p>
+     * 
+     * @return the first child element, or null
+     */
+    public final Element getFirstChildElement() {
+        return findChildElement(0, null, null);
+    }
+
+    
+    /**
+     * <p>
+     * Returns the next element after this one that has the same
+     * parent, or null if this is the last element in its parent
+     * or has no parent.
+     * </p>
+     * 
+     * @return the next sibling element, or null
+     */
+    public final Element getNextSiblingElement() {
+        
+        ParentNode parent = getParent();
+        if (parent == null) return null;
+        return parent.findChildElement(parent.indexOf(this) + 1, null, null);
+        
+    }
+
+    
+    /**
+     * <p>
+     * Returns the next element after this one that has the same
+     * parent and the specified name in no namespace, or null if 
+     * there is no such element.
+     * </p>
+     * 
+     * @param name the name of the element to return
+     * 
+     * @return the next sibling element with the specified local
+     *     name in no namespace, or null
+     */
+    public final Element getNextSiblingElement(String name) {
+        return getNextSiblingElement(name, "");
+    }
+
+    
+    /**
+     * <p>
+     * Returns the next element after this one that has the same
+     * parent and the specified local name and namespace URI, or 
+     * null if there is no such element. This can be combined with 
+     * <code>getFirstChildElement(localName, namespaceURI)</code> 
+     * to visit the matching child elements of an element.
+     * </p>
+     * 
+     * @param localName the local name of the element to return
+     * @param namespaceURI the namespace URI of the element to return
+     * 
+     * @return the next sibling element with the specified local 
+     *     name in the specified namespace, or null
+     *     
+     * @throws NullPointerException if <code>localName</code> or
+     *     <code>namespaceURI</code> is null
+     */
+    public final Element getNextSiblingElement(String localName, 
+      String namespaceURI) {
+        
+        if (localName == null) {
+            throw new NullPointerException("Null local name");
+        }
+        if (namespaceURI == null) {
+            throw new NullPointerException("Null namespace URI");
+        }
+        ParentNode parent = getParent();
+        if (parent == null) return null;
+        return parent.findChildElement(
+          parent.indexOf(this) + 1, localName, namespaceURI);
         
     }
 
@@ -425,9 +544,12 @@ public class Element extends ParentNode {
      *      is mapped to by this element, another attribute of 
      *      this element, or an additional namespace declaration
      *      of this element
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void addAttribute(Attribute attribute) {
 
+        checkNotFrozen();
         if (attribute.getParent() != null) {
             throw new MultipleParentException(
               "Attribute already has a parent");
@@ -481,6 +603,119 @@ public class Element extends ParentNode {
         }
         attributes[numAttributes] = attribute;
         numAttributes++;
+        invalidateOrder();
+        if (attribute.isXMLBase()) invalidateBaseURIs();
+        if (attribute.getNamespacePrefix().length() != 0) {
+            clearInScopeNamespaces();
+        }
+        AttributeIndex index = getAttributeIndex();
+        if (index != null) index.add(attribute);
+        else if (numAttributes > ATTRIBUTE_INDEX_THRESHOLD) indexAttributes();
+        
+    }
+    
+    
+    // Called as the document is frozen. Trims the arrays and
+    // shares this element's strings with other nodes.
+    void compact(ValuePool pool) {
+        
+        localName = pool.shareName(localName);
+        prefix = pool.shareName(prefix);
+        URI = pool.shareName(URI);
+        actualBaseURI = pool.shareName(actualBaseURI);
+        if (numAttributes == 0) attributes = null;
+        else if (attributes.length > numAttributes) {
+            attributes = Arrays.copyOf(attributes, numAttributes);
+        }
+        for (int i = 0; i < numAttributes; i++) {
+            attributes[i].compact(pool);
+        }
+        trimChildren();
+        
+    }
+    
+    
+    void measure(MemoryUsage usage) {
+        
+        usage.addElement();
+        usage.addString(localName);
+        usage.addString(prefix);
+        usage.addString(URI);
+        usage.addString(actualBaseURI);
+        usage.addAttributes(attributes, numAttributes);
+        usage.addNamespaces(namespaces);
+        Extras current = extras;
+        if (current != null) {
+            usage.addExtras();
+            if (current.attributeIndex != null) {
+                usage.addAttributeIndex(current.attributeIndex.getCapacity());
+            }
+            usage.addInScopeNamespaces(current.inScopeNamespaces);
+            usage.addCachedValue(current.value);
+            usage.addCachedValue(current.baseURI);
+        }
+        
+    }
+    
+    
+    // Called when the set of attributes changes wholesale or
+    // an attribute's name changes.
+    void indexAttributes() {
+        
+        if (numAttributes > ATTRIBUTE_INDEX_THRESHOLD) {
+            getExtras().attributeIndex 
+              = new AttributeIndex(attributes, numAttributes);
+        }
+        else if (extras != null) extras.attributeIndex = null;
+        
+    }
+    
+    
+    private AttributeIndex getAttributeIndex() {
+        Extras current = extras;
+        return current == null ? null : current.attributeIndex;
+    }
+    
+    
+    private Extras getExtras() {
+        
+        Extras result = extras;
+        if (result == null) {
+            result = new Extras();
+            extras = result;
+        }
+        return result;
+        
+    }
+    
+    
+    // The things an element computes on demand, and the index of 
+    // an element with many attributes. These are kept out of the 
+    // element itself so that an element that has none of them 
+    // costs only one null reference. A null field means that thing
+    // isn't there or hasn't been computed.
+    //
+    // Threads reading a frozen document at once can each create
+    // an Extras for the same element, and one may replace
+    // another's. That only loses cached values, which are computed
+    // again. The attribute index is never lost this way because it
+    // exists before the document is frozen, and a thread that sees
+    // a racily published Extras with some fields still null just
+    // computes those things again.
+    private static final class Extras {
+        
+        AttributeIndex attributeIndex;
+        // If an element has these, so does its parent element,
+        // so clearing a subtree can stop at the first element
+        // without them.
+        InScopeNamespaces inScopeNamespaces;
+        // The XPath string value, remembered only in a frozen
+        // document, where it can't change
+        String value;
+        // This element's base URI, and the epoch it was computed
+        // in. See getBaseURI.
+        String baseURI;
+        BaseURIEpoch baseURIEpoch;
         
     }
 
@@ -503,6 +738,21 @@ public class Element extends ParentNode {
         }
         numAttributes--;
         attributes[numAttributes] = null;
+        invalidateOrder();
+        if (attribute.isXMLBase()) invalidateBaseURIs();
+        if (attribute.getNamespacePrefix().length() != 0) {
+            clearInScopeNamespaces();
+        }
+        AttributeIndex attributeIndex = getAttributeIndex();
+        if (attributeIndex != null) {
+            // Keep the index until the element is well below the
+            // threshold so adding and removing one attribute near
+            // it doesn't rebuild the index every time.
+            if (numAttributes < ATTRIBUTE_INDEX_THRESHOLD / 2) {
+                extras.attributeIndex = null;
+            }
+            else attributeIndex.remove(attribute);
+        }
         return true;
         
     }
@@ -526,10 +776,13 @@ public class Element extends ParentNode {
      * 
      * @throws NoSuchAttributeException if this element is not the  
      *     parent of attribute
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      * 
      */
     public Attribute removeAttribute(Attribute attribute) {
         
+        checkNotFrozen();
         if (attributes == null) {
             throw new NoSuchAttributeException(
               "Tried to remove attribute "
@@ -587,6 +840,8 @@ public class Element extends ParentNode {
       String namespaceURI) {
         
         if (attributes == null) return null;
+        AttributeIndex index = getAttributeIndex();
+        if (index != null) return index.get(localName, namespaceURI);
         for (int i = 0; i < numAttributes; i++) {
             Attribute a = attributes[i];
             if (a.getLocalName().equals(localName) 
@@ -765,18 +1020,79 @@ public class Element extends ParentNode {
      */
     public final String getNamespaceURI(String prefix) {
         
-        Element current = this;
         String result = getLocalNamespaceURI(prefix);
-        while (result == null) {
-            ParentNode parent = current.getParent();
-            if (parent == null || parent.isDocument()) break;
-            current = (Element) parent; 
-            result = current.getLocalNamespaceURI(prefix);
+        if (result == null) {
+            ParentNode parent = getParent();
+            if (parent != null && parent.isElement()) {
+                result = ((Element) parent).getInScopeNamespaces().getURI(prefix);
+            }
         }
         if (result == null && "".equals(prefix)) result = "";
         return result;
 
     }
+    
+    
+    private InScopeNamespaces getInScopeNamespaces() {
+        
+        InScopeNamespaces result = getCachedInScopeNamespaces();
+        if (result != null) return result;
+        
+        // Find the nearest ancestor that already knows its 
+        // namespaces, then work back down from there. 
+        List<Element> uncached = new ArrayList<Element>();
+        result = InScopeNamespaces.EMPTY;
+        Element current = this;
+        while (true) {
+            uncached.add(current);
+            ParentNode parent = current.getParent();
+            if (parent == null || !parent.isElement()) break;
+            current = (Element) parent;
+            InScopeNamespaces cached = current.getCachedInScopeNamespaces();
+            if (cached != null) {
+                result = cached;
+                break;
+            }
+        }
+        for (int i = uncached.size() - 1; i >= 0; i--) {
+            Element element = uncached.get(i);
+            result = result.extend(element);
+            element.getExtras().inScopeNamespaces = result;
+        }
+        return result;
+        
+    }
+    
+    
+    private InScopeNamespaces getCachedInScopeNamespaces() {
+        Extras current = extras;
+        return current == null ? null : current.inScopeNamespaces;
+    }
+    
+    
+    // Called whenever the namespaces in scope on this element may 
+    // have changed, because a declaration changed or because the 
+    // element moved. 
+    final void clearInScopeNamespaces() {
+        
+        if (getCachedInScopeNamespaces() == null) return;
+        List<Element> stack = new ArrayList<Element>();
+        stack.add(this);
+        while (!stack.isEmpty()) {
+            Element element = stack.remove(stack.size() - 1);
+            element.extras.inScopeNamespaces = null;
+            // the children of a lazy copy don't exist yet
+            if (element.original != null) continue;
+            for (int i = 0; i < element.childCount; i++) {
+                Node child = element.getChild(i);
+                if (child.isElement() 
+                  && ((Element) child).getCachedInScopeNamespaces() != null) {
+                    stack.add((Element) child);
+                }
+            }
+        }
+        
+    }
 
     
     final String getLocalNamespaceURI(String prefix) {
@@ -796,7 +1112,7 @@ public class Element extends ParentNode {
             if (result != null) return result;
         }
         // Look in the attributes
-        if (prefix.length() != 0 && attributes != null) {
+        if (prefix.length() != 0 && hasPrefixedAttributes()) {
             for (int i = 0; i < numAttributes; i++) {
                 Attribute a = attributes[i];
                 if (a.getNamespacePrefix().equals(prefix)) {
@@ -819,8 +1135,11 @@ public class Element extends ParentNode {
      * 
      * @throws IllegalNameException if <code>localName</code> is not
      *     a legal, non-colonized name
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setLocalName(String localName) {       
+        checkNotFrozen();
         _setLocalName(localName);
     }
 
@@ -844,8 +1163,12 @@ public class Element extends ParentNode {
      *     and <code>uri</code> is null or the empty string;
      *     or if the element's prefix is shared by an attribute
      *     or additional namespace
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setNamespaceURI(String uri) {
+        checkNotFrozen();
+        clearInScopeNamespaces();
         _setNamespaceURI(uri);
     }
 
@@ -879,7 +1202,7 @@ public class Element extends ParentNode {
             }
         }
         // Look in the attributes
-        if (uri.length() > 0 && attributes != null) {
+        if (uri.length() > 0 && hasPrefixedAttributes()) {
             for (int i = 0; i < numAttributes; i++) {
                 Attribute a = attributes[i];
                 String attPrefix = a.getNamespacePrefix();
@@ -927,8 +1250,12 @@ public class Element extends ParentNode {
      *     already in use by an attribute or additional
      *     namespace with a different URI than the element
      *     itself
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setNamespacePrefix(String prefix) {
+        checkNotFrozen();
+        clearInScopeNamespaces();
         _setNamespacePrefix(prefix);
     }
 
@@ -1011,6 +1338,48 @@ public class Element extends ParentNode {
     }
     
     
+    void insertionAllowed(Node[] nodes, int position) {
+        
+        if (nodes.length == 1) {
+            insertionAllowed(nodes[0], position);
+            return;
+        }
+        Set<Node> added = new HashSet<Node>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            Node child = nodes[i];
+            if (child == null) {
+                throw new NullPointerException(
+                 "Tried to insert a null child in the tree");
+            }
+            else if (child.getParent() != null) {
+                throw new MultipleParentException(child.toString() 
+                  + " child already has a parent.");
+            }
+            else if (!added.add(child)) {
+                throw new MultipleParentException(child.toString() 
+                  + " inserted more than once.");
+            }
+            else if (!(child.isElement() || child.isText()
+              || child.isProcessingInstruction() || child.isComment())) {
+                throw new IllegalAddException("Cannot add a "
+                 + child.getClass().getName() + " to an Element.");
+            }
+        }
+        // one walk up the tree instead of one per element
+        if (added.contains(this)) {
+            throw new CycleException("Cannot add a node to itself");
+        }
+        ParentNode parent = this;
+        while ((parent = parent.getParent()) != null) {
+            if (added.contains(parent)) {
+                throw new CycleException(
+                  "Cannot add an ancestor as a child");
+            }
+        }
+        
+    }
+    
+    
     private static void checkCycle(Node child, ParentNode parent) {       
         
         if (child == parent) {
@@ -1039,9 +1408,12 @@ public class Element extends ParentNode {
      * @throws NullPointerException if text is null
      * @throws IndexOutOfBoundsException if the position is negative
      *     or greater than the number of children of the node
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void insertChild(String text, int position) {
         
+        checkNotFrozen();
        if (text == null) {
            throw new NullPointerException("Inserted null string");
        }
@@ -1061,6 +1433,8 @@ public class Element extends ParentNode {
      * @throws IllegalAddException if this node cannot 
      *     have children of this type
      * @throws NullPointerException if <code>text</code> is null
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void appendChild(String text) {
         insertChild(new Text(text), getChildCount());
@@ -1082,19 +1456,27 @@ public class Element extends ParentNode {
      * 
      * @return a list of all the children removed in the order they
      *     appeared in the element
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public Nodes removeChildren() {
         
+        checkNotFrozen();
         int length = this.getChildCount();
         Nodes result = new Nodes();
         for (int i = 0; i < length; i++) {
             Node child = getChild(i);
-            if (child.isElement()) fillInBaseURI((Element) child);
+            if (child.isElement()) {
+                fillInBaseURI((Element) child);
+                ((Element) child).clearInScopeNamespaces();
+            }
             child.setParent(null);
             result.append(child);
         }   
         this.children = null;
         this.childCount = 0;
+        invalidateOrder();
+        invalidateBaseURIs();
         
         return result;
         
@@ -1132,9 +1514,13 @@ public class Element extends ParentNode {
      * @throws NamespaceConflictException if the mapping conflicts 
      *     with an existing element, attribute,
      *     or additional namespace declaration
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void addNamespaceDeclaration(String prefix, String uri) {
 
+        checkNotFrozen();
+        clearInScopeNamespaces();
         if (prefix == null) prefix = "";
         if (uri == null) uri = "";
         
@@ -1206,9 +1592,13 @@ public class Element extends ParentNode {
      * </p>
      * 
      * @param prefix the prefix whose declaration should be removed
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void removeNamespaceDeclaration(String prefix) {
 
+        checkNotFrozen();
+        clearInScopeNamespaces();
         if (namespaces != null) {
             namespaces.remove(prefix);
         }
@@ -1279,53 +1669,7 @@ public class Element extends ParentNode {
     
     // Used for XPath and serialization
     Map<String, String> getNamespacePrefixesInScope() {
-        
-        HashMap<String, String> namespaces = new HashMap<String, String>();
-        
-        Element current = this;
-        while (true) {
-            
-            if (!("xml".equals(current.prefix))) {
-                addPrefixIfNotAlreadyPresent(namespaces, current, current.prefix);
-            }
-            
-            // add attribute prefixes
-            if (current.attributes != null) {
-                int count = current.numAttributes;
-                for (int i = 0; i < count; i++) {
-                    Attribute att = current.attributes[i];
-                    String attPrefix = att.getNamespacePrefix();
-                    if (attPrefix.length() != 0 && !("xml".equals(attPrefix))) {
-                        addPrefixIfNotAlreadyPresent(namespaces, current, attPrefix);
-                    }
-                }
-            }
-            
-            // add additional namespace prefixes
-            if (current.namespaces != null) {
-                int namespaceCount = current.namespaces.size();
-                for (int i = 0; i < namespaceCount; i++) {
-                    String nsPrefix = current.namespaces.getPrefix(i);
-                    addPrefixIfNotAlreadyPresent(namespaces, current, nsPrefix);
-                }
-            }
-            
-            ParentNode parent = current.getParent();
-            if (parent == null || parent.isDocument() || parent.isDocumentFragment()) {
-                break;
-            }
-            current = (Element) parent;
-        }
-
-        return namespaces;
-        
-    }
-
-
-    private void addPrefixIfNotAlreadyPresent(HashMap<String, String> namespaces, Element current, String prefix) {
-        if (!namespaces.containsKey(prefix)) {
-            namespaces.put(prefix, current.getLocalNamespaceURI(prefix));
-        }
+        return getInScopeNamespaces().toMap();
     }
 
     
@@ -1452,8 +1796,11 @@ public class Element extends ParentNode {
      * 
      * @throws MalformedURIException if <code>URI</code> is 
      *     not a legal RFC 3986 absolute URI
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setBaseURI(String URI) { 
+        checkNotFrozen();
         setActualBaseURI(URI);       
     }
     
@@ -1489,6 +1836,125 @@ public class Element extends ParentNode {
      */
      public String getBaseURI() {
 
+        // Most elements have no xml:base attribute and come from the
+        // same entity as their parent, so they have the same base URI
+        // as their parent. Find the nearest ancestor-or-self that 
+        // either has its base URI cached or doesn't simply inherit it.
+        Element top = this;
+        while (!top.hasCachedBaseURI()) {
+            ParentNode parent = top.getParent();
+            if (parent == null || !parent.isElement() 
+              || !top.inheritsBaseURI(parent)) {
+                break;
+            }
+            top = (Element) parent;
+        }
+        
+        String result = null;
+        BaseURIEpoch epoch = null;
+        Extras cached = top.extras;
+        if (cached != null) {
+            result = cached.baseURI;
+            epoch = cached.baseURIEpoch;
+        }
+        if (result == null || epoch == null || !epoch.valid) {
+            result = top.computeBaseURI();
+            epoch = top.findBaseURIEpoch();
+            cached = top.getExtras();
+            cached.baseURI = result;
+            cached.baseURIEpoch = epoch;
+        }
+        for (Element e = this; e != top; e = (Element) e.getParent()) {
+            cached = e.getExtras();
+            cached.baseURI = result;
+            cached.baseURIEpoch = epoch;
+        }
+        return result;
+        
+    }
+     
+     
+    private boolean hasCachedBaseURI() {
+        
+        Extras current = extras;
+        if (current == null) return false;
+        BaseURIEpoch epoch = current.baseURIEpoch;
+        return current.baseURI != null && epoch != null && epoch.valid;
+        
+    }
+    
+    
+    // Any cached base URI that depends on this element is cached
+    // in the same epoch as this element, so this discards all of
+    // them.
+    void invalidateBaseURIs() {
+        
+        Extras current = extras;
+        if (current == null) return;
+        BaseURIEpoch epoch = current.baseURIEpoch;
+        if (epoch != null) epoch.valid = false;
+        
+    }
+    
+    
+    // Returns the current epoch of this element's tree, starting
+    // one if there isn't one, and makes sure this element and all
+    // its ancestor elements belong to it. The elements on the path
+    // to the nearest ancestor that already belongs to it are 
+    // updated. This maintains the invariant that if an element is
+    // in a valid epoch, so are all its ancestor elements, which is
+    // why invalidating an element discards the cached base URIs of
+    // all its descendants. A document has no epoch of its own;
+    // it invalidates its root element's instead.
+    private BaseURIEpoch findBaseURIEpoch() {
+        
+        Element current = this;
+        BaseURIEpoch epoch = null;
+        while (true) {
+            Extras extras = current.extras;
+            BaseURIEpoch candidate = extras == null ? null : extras.baseURIEpoch;
+            if (candidate != null && candidate.valid) {
+                epoch = candidate;
+                break;
+            }
+            ParentNode parent = current.getParent();
+            if (parent == null || !parent.isElement()) break;
+            current = (Element) parent;
+        }
+        if (epoch == null) {
+            epoch = new BaseURIEpoch();
+            Extras extras = current.getExtras();
+            extras.baseURIEpoch = epoch;
+            // computed in an earlier epoch, if at all
+            extras.baseURI = null;
+        }
+        for (Element e = this; e != current; e = (Element) e.getParent()) {
+            Extras extras = e.getExtras();
+            extras.baseURIEpoch = epoch;
+            extras.baseURI = null;
+        }
+        return epoch;
+        
+    }
+    
+    
+    // A period during which nothing in a tree changed that could 
+    // change a base URI
+    private static final class BaseURIEpoch {
+        
+        boolean valid = true;
+        
+    }
+    
+    
+    private boolean inheritsBaseURI(ParentNode parent) {
+        return getActualBaseURI().equals(parent.getActualBaseURI())
+          && getAttribute("base", "http://www.w3.org/XML/1998/namespace") == null;
+    }
+    
+    
+    private String computeBaseURI() {
+
         String baseURI = "";
         String sourceEntity = this.getActualBaseURI();
         
@@ -1716,23 +2182,89 @@ public class Element extends ParentNode {
      * entity and character references have been resolved.
      * </p>
      * 
+     * <p>
+     * In a frozen document, the value is computed once and 
+     * remembered, so asking for it again is cheap. Otherwise it's
+     * computed again on every call. To avoid building a copy of the
+     * text of a large element, use 
+     * {@link #writeValue(Appendable) writeValue} instead.
+     * </p>
+     * 
      * @return XPath string value of this element
      * 
      */
     public final String getValue() {
 
-        // non-recursive algorithm avoids stack size limitations
+        String result = getCachedValue();
+        if (result != null) return result;
+        
         int childCount = this.getChildCount();
-        if (childCount == 0) return "";
-
-        Node current = this.getChild(0);
+        if (childCount == 0) result = "";
         // optimization for common case where element 
         // has a single text node child
-        if (childCount == 1 && current.isText()) {
-            return current.getValue();
-        }   
+        else if (childCount == 1 && this.getChild(0).isText()) {
+            result = this.getChild(0).getValue();
+        }
+        else {
+            StringBuilder buffer = new StringBuilder();
+            try {
+                appendValue(buffer);
+            }
+            catch (IOException ex) {
+                throw new RuntimeException(
+                  "StringBuilder threw an IOException", ex);
+            }
+            result = buffer.toString();
+        }
+        
+        // Other threads reading a frozen document may compute
+        // the same value at the same time. Whichever write wins,
+        // the string is immutable, so every thread sees a 
+        // complete value or none.
+        if (inFrozenTree()) getExtras().value = result;
+        return result;
+
+    }
+    
+    
+    private String getCachedValue() {
+        Extras current = extras;
+        return current == null ? null : current.value;
+    }
+    
+    
+    /**
+     * <p>
+     * Writes the value of the element as defined by XPath 1.0
+     * onto the specified <code>Appendable</code>, such as a 
+     * <code>Writer</code> or <code>StringBuilder</code>. This is the
+     * same text {@link #getValue() getValue} returns, but the text
+     * nodes are written one at a time so the complete value is never
+     * held in memory at once.
+     * </p>
+     * 
+     * @param out where to write the value
+     * 
+     * @throws IOException if <code>out</code> throws an IOException
+     * @throws NullPointerException if <code>out</code> is null
+     */
+    public final void writeValue(Appendable out) throws IOException {
+        
+        if (out == null) throw new NullPointerException("Null Appendable");
+        String cached = getCachedValue();
+        if (cached != null) out.append(cached);
+        else appendValue(out);
         
-        StringBuilder result = new StringBuilder();
+    }
+    
+    
+    // Uses the values already remembered by descendants
+    // in a frozen document
+    private void appendValue(Appendable out) throws IOException {
+
+        // non-recursive algorithm avoids stack size limitations
+        if (this.getChildCount() == 0) return;
+        Node current = this.getChild(0);
         int index = 0;
         int[] indexes = new int[10];
         int top = 0;
@@ -1740,35 +2272,41 @@ public class Element extends ParentNode {
         
         boolean endTag = false;
         while (true) {
-            if (!endTag && current.getChildCount() > 0) {
-               current = current.getChild(0);
-               index = 0;
-               top++;
-               indexes = grow(indexes, top);
-               indexes[top] = 0;            }
-            else {
-                endTag = false;
-                if (current.isText()) result.append(current.getValue());
-                ParentNode parent = current.getParent();
-                if (parent.getChildCount() - 1 == index) {
-                    current = parent;
-                    top--;
-                    if (current == this) break;
-                    index = indexes[top];
-                    endTag = true;
-                }
-                else {
-                    index++;
-                    indexes[top] = index;
-                    current = parent.getChild(index);
+            if (!endTag) {
+                if (current.isText()) out.append(current.getValue());
+                else if (current.isElement()) {
+                    Element element = (Element) current;
+                    String cached = element.getCachedValue();
+                    if (cached != null) out.append(cached);
+                    else if (element.getChildCount() > 0) {
+                        current = element.getChild(0);
+                        index = 0;
+                        top++;
+                        indexes = grow(indexes, top);
+                        indexes[top] = 0;
+                        continue;
+                    }
                 }
             }
+            endTag = false;
+            ParentNode parent = current.getParent();
+            if (parent.getChildCount() - 1 == index) {
+                current = parent;
+                top--;
+                if (current == this) break;
+                index = indexes[top];
+                endTag = true;
+            }
+            else {
+                index++;
+                indexes[top] = index;
+                current = parent.getChild(index);
+            }
         }        
-        
-        return result.toString();
 
     }
-
+    
+    
     /**
      * <p>
      * Creates a deep copy of this element with no parent,
@@ -1784,11 +2322,21 @@ public class Element extends ParentNode {
      * method instead.
      * </p>
      * 
+     * <p>
+     * Copying an element in a frozen document is much cheaper
+     * than copying a mutable one. The copy shares the frozen
+     * element's descendants, and copies the children of each
+     * element only when they are first accessed. Copying a large
+     * frozen template and then changing a few nodes in the copy
+     * only pays for the elements on the paths to those nodes.
+     * </p>
+     * 
      * @return a deep copy of this element with no parent
      */
     public Element copy() {
         Element result = copyTag(this);
-        copyChildren(this, result);
+        result.original = getSharableOriginal();
+        if (result.original == null) copyChildren(this, result);
         return result;
     }
     
@@ -1844,6 +2392,10 @@ public class Element extends ParentNode {
         String prefix = attribute.getNamespacePrefix();
         String namespaceURI = attribute.getNamespaceURI();
         
+        // Unprefixed attributes are never in a namespace so 
+        // they can't conflict with each other.
+        if (prefix.length() == 0 || !hasPrefixedAttributes()) return;
+        
         // Look for conflicts
         for (int i = 0; i < numAttributes; i++) {
             Attribute a = attributes[i];
@@ -1857,6 +2409,18 @@ public class Element extends ParentNode {
         
     }
 
+    
+    // Only the index knows when no attribute has a prefix;
+    // without one, assume some might.
+    private boolean hasPrefixedAttributes() {
+        
+        if (attributes == null) return false;
+        AttributeIndex index = getAttributeIndex();
+        if (index != null) return index.hasPrefixedAttributes();
+        return true;
+        
+    }
+
 
     private class AttributeIterator implements Iterator<Attribute> {
       
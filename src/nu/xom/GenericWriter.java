@@ -74,6 +74,13 @@ class GenericWriter extends TextWriter {
         if (encoder.canEncode(c)) return false;
         return true;
     }
+    
+    
+    // The characters that need escaping depend on the
+    // encoding, not just the class
+    Object getEscapeTableKey() {
+        return encoding.toUpperCase(Locale.ENGLISH);
+    }
    
     
 }
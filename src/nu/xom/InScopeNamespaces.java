@@ -0,0 +1,119 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * An immutable snapshot of all the namespace bindings in scope on
+ * an element, except for the fixed <code>xml</code> and
+ * <code>xmlns</code> prefixes. Elements cache these and share them
+ * with their descendants, so most elements, which declare nothing
+ * new, refer to the same object as their parent. Because the
+ * map is never modified after construction and is only reachable
+ * through a final field, a snapshot can be read from several
+ * threads without synchronization.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ */
+final class InScopeNamespaces {
+
+
+    static final InScopeNamespaces EMPTY
+      = new InScopeNamespaces(new HashMap<String, String>(1));
+
+    private final HashMap<String, String> bindings;
+
+
+    private InScopeNamespaces(HashMap<String, String> bindings) {
+        this.bindings = bindings;
+    }
+
+
+    String getURI(String prefix) {
+        return bindings.get(prefix);
+    }
+
+
+    // Returns the snapshot in scope on an element whose parent has
+    // this snapshot. That's this same snapshot unless the element
+    // binds some prefix to a different URI. If an element binds a 
+    // prefix in more than one place, getLocalNamespaceURI prefers
+    // the element name, then the additional declarations, then the
+    // attributes, so they're applied in the reverse order.
+    InScopeNamespaces extend(Element element) {
+
+        HashMap<String, String> result = null;
+        int count = element.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            Attribute attribute = element.getAttribute(i);
+            String prefix = attribute.getNamespacePrefix();
+            if (prefix.length() != 0 && !"xml".equals(prefix)) {
+                result = bind(result, prefix, attribute.getNamespaceURI());
+            }
+        }
+        Namespaces namespaces = element.namespaces;
+        if (namespaces != null) {
+            int size = namespaces.size();
+            for (int i = 0; i < size; i++) {
+                String prefix = namespaces.getPrefix(i);
+                result = bind(result, prefix, namespaces.getURI(prefix));
+            }
+        }
+        String prefix = element.getNamespacePrefix();
+        if (!"xml".equals(prefix)) {
+            result = bind(result, prefix, element.getNamespaceURI());
+        }
+        if (result == null) return this;
+        return new InScopeNamespaces(result);
+
+    }
+
+
+    private HashMap<String, String> bind(HashMap<String, String> result,
+      String prefix, String uri) {
+
+        if (result == null) {
+            if (uri.equals(bindings.get(prefix))) return null;
+            result = new HashMap<String, String>(bindings);
+        }
+        result.put(prefix, uri);
+        return result;
+
+    }
+
+
+    int size() {
+        return bindings.size();
+    }
+
+
+    // a mutable copy
+    Map<String, String> toMap() {
+        return new HashMap<String, String>(bindings);
+    }
+
+
+}
@@ -20,20 +20,32 @@
 
 package nu.xom;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 
 import org.jaxen.BaseXPath;
+import org.jaxen.Context;
+import org.jaxen.ContextSupport;
 import org.jaxen.FunctionContext;
 import org.jaxen.JaxenException;
+import org.jaxen.NamespaceContext;
+import org.jaxen.SimpleVariableContext;
+import org.jaxen.VariableContext;
 import org.jaxen.XPathFunctionContext;
 
 
 /**
+ * <p>
+ *   A parsed XPath expression. Instances are never reconfigured 
+ *   after construction. The namespace and variable bindings are 
+ *   supplied separately for each evaluation, so one connector can
+ *   be shared by any number of threads and queries.
+ * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.2.4
+ * @version 1.5.0
  *
  */
 class JaxenConnector extends BaseXPath {
@@ -42,30 +54,97 @@ class JaxenConnector extends BaseXPath {
     private static final long serialVersionUID = 9025734269448515308L;
     
     private static FunctionContext functionContext = new XPathFunctionContext(false);
+    
+    // never has any variables bound
+    private static VariableContext noVariables = new SimpleVariableContext();
 
+    // A direct-mapped table shared by all threads without locking,
+    // like the namespace URI cache in Verifier. Each expression can
+    // only live in the slot its hash code selects, and a newer
+    // expression simply replaces whatever was there. Two threads 
+    // storing in the same slot at once is harmless: one write wins,
+    // and the other expression is parsed again the next time it's
+    // used. Connectors are immutable once constructed, and the 
+    // final fields of an Entry guarantee that a thread that reads a
+    // slot another thread wrote sees either null or a complete entry.
+    private final static int CACHE_SIZE = 256; // must be a power of 2
+    private final static Entry[] cache = new Entry[CACHE_SIZE];
+    
+    private final static class Entry {
+        
+        final String expression;
+        final JaxenConnector connector;
+        
+        Entry(String expression, JaxenConnector connector) {
+            this.expression = expression;
+            this.connector = connector;
+        }
+        
+    }
+    
     
     JaxenConnector(String expression) throws JaxenException {
         super(expression, new JaxenNavigator());
-        // possible thread-safety issue????
         this.setFunctionContext(functionContext);
     }
+    
+    
+    /**
+     * <p>
+     * Returns a connector for the expression, parsing it only if
+     * it isn't in the cache of recently used expressions.
+     * </p>
+     */
+    static JaxenConnector getConnector(String expression) 
+      throws JaxenException {
+        
+        int hash = expression.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        Entry entry = cache[slot];
+        if (entry != null && entry.expression.equals(expression)) {
+            return entry.connector;
+        }
+        JaxenConnector connector = new JaxenConnector(expression);
+        cache[slot] = new Entry(expression, connector);
+        return connector;
+        
+    }
+    
+    
+    // Once selectNodes(Object) has unwrapped the text lists,
+    // every item in the result is a Node.
+    @SuppressWarnings("unchecked")
+    List<Node> selectNodes(Node node, NamespaceContext namespaces, 
+      VariableContext variables) throws JaxenException {
+        
+        if (variables == null) variables = noVariables;
+        ContextSupport support = new ContextSupport(
+          namespaces, functionContext, variables, getNavigator());
+        Context context = new Context(support);
+        context.setNodeSet(Collections.singletonList(node));
+        List<?> result = selectNodes(context);
+        return (List<Node>) result;
+        
+    }
 
     
-    public List selectNodes(Object expression) throws JaxenException {
+    // Jaxen's BaseXPath returns a raw List
+    @SuppressWarnings("unchecked")
+    public List<Object> selectNodes(Object expression) throws JaxenException {
         
-        List result = super.selectNodes(expression);
+        List<Object> result = super.selectNodes(expression);
         // Text objects are returned wrapped in a List.
         // We need to unwrap them here.
-        ListIterator iterator = result.listIterator();
+        ListIterator<Object> iterator = result.listIterator();
         while (iterator.hasNext()) {
             Object next = iterator.next();
             if (next instanceof List) {
-                List list = (List) next;
+                List<?> list = (List<?>) next;
                 // replace the list with the first item in the list
                 iterator.set(list.get(0));
                 // insert any subsequent Text objects into the list
                 if (list.size() > 1) {
-                    Iterator texts = list.listIterator(1);
+                    Iterator<?> texts = list.listIterator(1);
                     while (texts.hasNext()) {
                         iterator.add(texts.next());
                     }
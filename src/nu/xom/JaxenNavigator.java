@@ -26,7 +26,7 @@ package nu.xom;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.1.1b1
+ * @version 1.5.0
  *
  */
 
@@ -106,7 +106,7 @@ class JaxenNavigator extends DefaultNavigator implements NamedAccessNavigator {
         // Now search down from the highest point for the requested ID
         Element root;
         if (high.isDocument()) {
-            root = ((Document) high).getRootElement();
+            return ((Document) high).getElementByID(id);
         }
         else { // document fragment
             Node first = high.getChild(0);
@@ -123,15 +123,17 @@ class JaxenNavigator extends DefaultNavigator implements NamedAccessNavigator {
     }
     
     
-    // ????remove recursion
     public static Element findByID(Element top, String id) {
         
-        if (hasID(top, id)) return top;
-        else {
-            Elements children = top.getChildElements();
-            for (int i = 0; i < children.size(); i++) {
-                Element result = findByID(children.get(i), id);
-                if (result != null) return result;
+        // search in document order without recursion
+        List<Element> stack = new ArrayList<Element>();
+        stack.add(top);
+        while (!stack.isEmpty()) {
+            Element element = stack.remove(stack.size() - 1);
+            if (hasID(element, id)) return element;
+            for (int i = element.getChildCount() - 1; i >= 0; i--) {
+                Node child = element.getChild(i);
+                if (child.isElement()) stack.add((Element) child);
             }
         }
         return null;
@@ -149,7 +151,7 @@ class JaxenNavigator extends DefaultNavigator implements NamedAccessNavigator {
                 // because if the value passed to the id() function
                 // contains any spaces; then it is converted into a
                 // search for multiple IDs, none of which have spaces
-                return a.getValue().trim().equals(id);
+                if (a.getValue().trim().equals(id)) return true;
             }
         }
         return false;
@@ -0,0 +1,457 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *   Estimates how much heap a node and everything beneath it
+ *   occupy, broken down by what the memory is used for. This is
+ *   meant for capacity planning, for instance so that a cache of
+ *   parsed documents can be limited by bytes instead of by the
+ *   number of documents. Unlike comparing
+ *   <code>Runtime.freeMemory()</code> before and after building a
+ *   document, the result is repeatable and doesn't depend on when
+ *   the garbage collector runs.
+ * </p>
+ *
+ * <p>
+ *   The estimate walks the tree once and adds up the sizes of the
+ *   nodes, their arrays, strings, and maps. It assumes a 64-bit
+ *   HotSpot VM with compressed object pointers, which is the
+ *   default for heaps smaller than 32 gigabytes. Strings and arrays
+ *   shared by several nodes, as in a frozen document, are only
+ *   counted once. The children that a copy of a frozen element
+ *   shares with the original are not counted. Neither is anything
+ *   the tree merely refers to, such as its parent, the node
+ *   factory, or the <code>Builder</code>.
+ * </p>
+ *
+ * <p>
+ *   Measuring a document does not change it, so a frozen document
+ *   can be measured while other threads read it.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public final class MemoryUsage {
+
+
+    private final static int OBJECT_HEADER = 12;
+    private final static int ARRAY_HEADER = 16;
+    private final static int REFERENCE = 4;
+    private final static boolean COMPACT_STRINGS
+      = !System.getProperty("java.specification.version", "1.6").startsWith("1.");
+
+    // Each node has the parent field it inherits from Node.
+    // Parent nodes add four references and three ints.
+    private final static long ELEMENT = shallow(11, 4, 0);
+    private final static long DOCUMENT = shallow(5, 3, 1);
+    private final static long PARENT_NODE = shallow(5, 3, 0);
+    // what an element computes on demand, when it has any of it
+    private final static long ELEMENT_EXTRAS = shallow(5, 0, 0);
+    private final static long ATTRIBUTE = shallow(6, 0, 0);
+    // Text and Comment
+    private final static long LEAF = shallow(2, 0, 0);
+    // ProcessingInstruction and Namespace
+    private final static long PAIR = shallow(3, 0, 0);
+    private final static long DOCTYPE = shallow(5, 0, 0);
+
+    private long nodeCount = 0;
+    private long nodes = 0;
+    private long childArrays = 0;
+    private long attributeArrays = 0;
+    private long text = 0;
+    private long strings = 0;
+    private long namespaces = 0;
+    private long caches = 0;
+
+    // things shared by several nodes that should only be counted once
+    private final Map<Object, Object> seen
+      = new IdentityHashMap<Object, Object>();
+
+
+    /**
+     * <p>
+     * Measures the specified node, including its attributes,
+     * namespace declarations, and descendants.
+     * </p>
+     *
+     * @param node the node to measure
+     *
+     * @throws NullPointerException if <code>node</code> is null
+     */
+    public MemoryUsage(Node node) {
+
+        if (node == null) {
+            throw new NullPointerException("Cannot measure null node");
+        }
+        List<Node> stack = new ArrayList<Node>();
+        stack.add(node);
+        while (!stack.isEmpty()) {
+            Node next = stack.remove(stack.size() - 1);
+            measure(next);
+            if (next instanceof ParentNode) {
+                ParentNode parent = (ParentNode) next;
+                // Reading the array directly doesn't copy the
+                // children of a copy of a frozen element.
+                Node[] children = parent.children;
+                if (children == null || parent.original != null) continue;
+                childArrays += array(children.length, REFERENCE);
+                for (int i = 0; i < children.length; i++) {
+                    if (children[i] != null) stack.add(children[i]);
+                }
+            }
+        }
+
+    }
+
+
+    private void measure(Node node) {
+
+        nodeCount++;
+        if (node.isElement()) ((Element) node).measure(this);
+        else if (node.isText()) ((Text) node).measure(this);
+        else if (node.isAttribute()) addAttribute((Attribute) node);
+        else if (node.isDocument()) ((Document) node).measure(this);
+        else if (node.isComment()) {
+            nodes += LEAF;
+            addString(node.getValue());
+        }
+        else if (node.isProcessingInstruction()) {
+            nodes += PAIR;
+            addString(((ProcessingInstruction) node).getTarget());
+            addString(node.getValue());
+        }
+        else if (node.isDocType()) {
+            DocType doctype = (DocType) node;
+            nodes += DOCTYPE;
+            addString(doctype.getRootElementName());
+            addString(doctype.getPublicID());
+            addString(doctype.getSystemID());
+            addString(doctype.getInternalDTDSubset());
+        }
+        else if (node instanceof Namespace) {
+            nodes += PAIR;
+            addString(((Namespace) node).getPrefix());
+            addString(node.getValue());
+        }
+        else { // a DocumentFragment or a subclass from elsewhere
+            nodes += PARENT_NODE;
+        }
+
+    }
+
+
+    void addElement() {
+        nodes += ELEMENT;
+    }
+
+
+    void addDocument() {
+        nodes += DOCUMENT;
+    }
+
+
+    void addAttributes(Attribute[] attributes, int count) {
+
+        if (attributes == null) return;
+        attributeArrays += array(attributes.length, REFERENCE);
+        for (int i = 0; i < count; i++) {
+            nodeCount++;
+            addAttribute(attributes[i]);
+        }
+
+    }
+
+
+    private void addAttribute(Attribute attribute) {
+
+        nodes += ATTRIBUTE;
+        addString(attribute.getLocalName());
+        addString(attribute.getNamespacePrefix());
+        addString(attribute.getNamespaceURI());
+        addString(attribute.getValue());
+
+    }
+
+
+    void addExtras() {
+        caches += ELEMENT_EXTRAS;
+    }
+
+
+    void addAttributeIndex(int capacity) {
+        attributeArrays += shallow(1, 2, 0) + array(capacity, REFERENCE);
+    }
+
+
+    void addNamespaces(Namespaces declarations) {
+
+        if (declarations == null) return;
+        int size = declarations.size();
+        namespaces += shallow(2, 0, 0) + hashMap(size) + arrayList(size);
+        for (int i = 0; i < size; i++) {
+            String prefix = declarations.getPrefix(i);
+            addString(prefix);
+            addString(declarations.getURI(prefix));
+        }
+
+    }
+
+
+    void addInScopeNamespaces(InScopeNamespaces snapshot) {
+        
+        if (snapshot == null || snapshot == InScopeNamespaces.EMPTY) return;
+        if (firstTime(snapshot)) {
+            caches += shallow(1, 0, 0) + hashMap(snapshot.size());
+        }
+        
+    }
+
+
+    void addCachedValue(String value) {
+        if (value != null && firstTime(value)) caches += string(value);
+    }
+
+
+    void addIDIndex(int size) {
+        caches += hashMap(size);
+    }
+
+
+    void addString(String s) {
+        if (s != null && firstTime(s)) strings += string(s);
+    }
+
+
+    void addText(byte[] data) {
+
+        nodes += LEAF;
+        if (firstTime(data)) text += array(data.length, 1);
+
+    }
+
+
+    void addText(String data) {
+
+        nodes += LEAF;
+        if (firstTime(data)) text += string(data);
+
+    }
+
+
+    private boolean firstTime(Object o) {
+        return seen.put(o, o) == null;
+    }
+
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+
+    private static long shallow(int references, int ints, int booleans) {
+        return align(OBJECT_HEADER + references * REFERENCE + ints * 4 + booleans);
+    }
+
+
+    private static long array(int length, int width) {
+        return align(ARRAY_HEADER + (long) length * width);
+    }
+
+
+    private static long string(String s) {
+
+        int width = 2;
+        if (COMPACT_STRINGS) {
+            width = 1;
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) > 0xFF) {
+                    width = 2;
+                    break;
+                }
+            }
+        }
+        return shallow(1, 1, 2) + array(s.length(), width);
+
+    }
+
+
+    private static long hashMap(int size) {
+
+        int capacity = 1;
+        while (capacity * 3 < size * 4) capacity *= 2;
+        return shallow(4, 4, 0) + array(capacity, REFERENCE)
+          + size * shallow(3, 1, 0);
+
+    }
+
+
+    private static long arrayList(int size) {
+        return shallow(1, 2, 0) + array(size, REFERENCE);
+    }
+
+
+    /**
+     * <p>
+     * Returns the number of nodes measured, counting attributes
+     * and namespace nodes but not any nodes shared with a frozen
+     * document.
+     * </p>
+     *
+     * @return the number of nodes
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+
+    /**
+     * <p>
+     * Returns the size of the node objects themselves, not
+     * including any of the objects they refer to.
+     * </p>
+     *
+     * @return the estimated size of the nodes in bytes
+     */
+    public long getNodeBytes() {
+        return nodes;
+    }
+
+
+    /**
+     * <p>
+     * Returns the size of the arrays that hold the children of
+     * elements and documents, including any unused space in them.
+     * </p>
+     *
+     * @return the estimated size of the child arrays in bytes
+     */
+    public long getChildArrayBytes() {
+        return childArrays;
+    }
+
+
+    /**
+     * <p>
+     * Returns the size of the arrays that hold the attributes of
+     * elements, and of the indexes of elements with many attributes.
+     * </p>
+     *
+     * @return the estimated size of the attribute arrays in bytes
+     */
+    public long getAttributeArrayBytes() {
+        return attributeArrays;
+    }
+
+
+    /**
+     * <p>
+     * Returns the size of the content of text nodes. Text is
+     * normally stored in UTF-8.
+     * </p>
+     *
+     * @return the estimated size of the text in bytes
+     */
+    public long getTextBytes() {
+        return text;
+    }
+
+
+    /**
+     * <p>
+     * Returns the size of the strings that hold names, namespace
+     * URIs, attribute values, comments, processing instructions,
+     * and the document type declaration.
+     * </p>
+     *
+     * @return the estimated size of the strings in bytes
+     */
+    public long getStringBytes() {
+        return strings;
+    }
+
+
+    /**
+     * <p>
+     * Returns the size of the maps that hold additional
+     * namespace declarations.
+     * </p>
+     *
+     * @return the estimated size of the namespace maps in bytes
+     */
+    public long getNamespaceBytes() {
+        return namespaces;
+    }
+
+
+    /**
+     * <p>
+     * Returns the size of the values XOM computes and remembers
+     * to speed up later lookups: the ID index, element values,
+     * base URIs, and the namespaces in scope on elements. These are discarded
+     * and rebuilt as needed, so this part of the total varies with
+     * how the document has been used.
+     * </p>
+     *
+     * @return the estimated size of the caches in bytes
+     */
+    public long getCacheBytes() {
+        return caches;
+    }
+
+
+    /**
+     * <p>
+     * Returns the estimated total size of the measured tree.
+     * This is the sum of all the other sizes.
+     * </p>
+     *
+     * @return the estimated size of the tree in bytes
+     */
+    public long getTotalBytes() {
+        return nodes + childArrays + attributeArrays + text
+          + strings + namespaces + caches;
+    }
+
+
+    /**
+     * <p>
+     * Returns a string summarizing the estimate,
+     * for debugging and logging.
+     * </p>
+     *
+     * @return a string representation of this estimate
+     */
+    public String toString() {
+        return "[" + getClass().getName() + ": " + getTotalBytes()
+          + " bytes in " + nodeCount + " nodes]";
+    }
+
+
+}
@@ -23,6 +23,7 @@ package nu.xom;
 import java.util.List;
 
 import org.jaxen.NamespaceContext;
+import org.jaxen.VariableContext;
 
 /**
  *
@@ -51,7 +52,7 @@ import org.jaxen.NamespaceContext;
  * 
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.9
+ * @version 1.5.0
  *
  */
 public abstract class Node {
@@ -218,6 +219,21 @@ public abstract class Node {
     }
     
     
+    final void checkNotFrozen() {
+        if (inFrozenTree()) {
+            throw new ReadOnlyException(
+              "Cannot modify a node in a frozen document");
+        }
+    }
+    
+    
+    // A leaf belongs to a frozen tree if its parent does
+    boolean inFrozenTree() {
+        ParentNode parent = getParent();
+        return parent != null && parent.inFrozenTree();
+    }
+    
+    
     /**
      * <p>
      * Removes this node from its parent so that it can be added 
@@ -363,7 +379,9 @@ public abstract class Node {
      * </p>
      * 
      * <p>
-     * No variables are bound. 
+     * No variables are bound. Use an {@link XPathExpression} 
+     * to bind variables, or to avoid looking up the parsed 
+     * expression each time the same query is repeated.
      * </p>
      * 
      * <p>
@@ -407,6 +425,18 @@ public abstract class Node {
      */
     public final Nodes query(String xpath, XPathContext namespaces) {
         
+        NamespaceContext context = null;
+        if (namespaces != null) context = namespaces.getJaxenContext();
+        return query(xpath, null, context, null);
+        
+    }
+    
+    
+    // Shared by the query methods and XPathExpression. The connector
+    // is null if the expression still needs to be looked up or parsed.
+    final Nodes query(String xpath, JaxenConnector connector,
+      NamespaceContext namespaces, VariableContext variables) {
+        
         if (this.isDocType()) {
             throw new XPathException("Can't use XPath on a DocType");
         }
@@ -419,15 +449,12 @@ public abstract class Node {
         }
         
         try {
-            JaxenConnector connector = new JaxenConnector(xpath);
-            if (namespaces == null) {
-                connector.setNamespaceContext(emptyContext);
-            }
-            else {
-                connector.setNamespaceContext(namespaces.getJaxenContext());
+            if (connector == null) {
+                connector = JaxenConnector.getConnector(xpath);
             }
-
-            List<Node> queryResults = connector.selectNodes(this);
+            if (namespaces == null) namespaces = emptyContext;
+            List<Node> queryResults 
+              = connector.selectNodes(this, namespaces, variables);
             return new Nodes(queryResults);
         }
         catch (XPathException ex) {
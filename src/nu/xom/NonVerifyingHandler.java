@@ -25,14 +25,52 @@ import org.xml.sax.SAXException;
 
 /**
  * @author Elliotte Rusty Harold
- * @version 1.2.11
+ * @version 1.5.0
  *
  */
 class NonVerifyingHandler extends XOMHandler {
 
+    // The characters of the text node being built. SAX parsers may 
+    // report one text node in several chunks, so they're collected 
+    // here and encoded once into the new node. The array is reused
+    // for the next text node, unless an unusually large one made it
+    // too big to be worth keeping.
+    private final static int MAX_RETAINED_TEXT = 65536;
+    private char[] text = new char[1024];
+    private int textLength = 0;
+    
+
     NonVerifyingHandler(NodeFactory factory) {
         super(factory); 
     } 
+    
+    
+    public void startDocument() {
+        super.startDocument();
+        textLength = 0;
+    }
+  
+    
+    public void characters(char[] data, int start, int length) {
+        
+        if (length <= 0) return;
+        if (textLength + length > text.length) {
+            int capacity = Math.max(text.length * 2, textLength + length);
+            char[] temp = new char[capacity];
+            System.arraycopy(text, 0, temp, 0, textLength);
+            text = temp;
+        }
+        System.arraycopy(data, start, text, textLength, length);
+        textLength += length;
+        if (finishedCDATA) inCDATA = false;
+        
+    }
+    
+    
+    public void startCDATA() {
+        if (textLength == 0) inCDATA = true;
+        finishedCDATA = false;
+    }
   
     
     public void startElement(String namespaceURI, String localName, 
@@ -143,21 +181,12 @@ class NonVerifyingHandler extends XOMHandler {
     // accumulate all text that's in the buffer into a text node
     private void flushText() {
         
-        if (buffer != null) {
-            textString = buffer.toString();
-            buffer = null;
-        }
-
-        if (textString != null) {
-            Text result;
-            if (!inCDATA) {
-                result = Text.build(textString);
-            }
-            else {
-                result = CDATASection.build(textString);
-            }
+        if (textLength > 0) {
+            Text result = Text.build(text, textLength);
+            if (inCDATA) result = new CDATASection(result);
             parent.fastInsertChild(result, parent.getChildCount());
-            textString = null;
+            textLength = 0;
+            if (text.length > MAX_RETAINED_TEXT) text = new char[1024];
         }
         inCDATA = false;
         finishedCDATA = false;
@@ -20,6 +20,8 @@
 
 package nu.xom;
 
+import java.util.Arrays;
+
 
 /**
  * 
@@ -40,7 +42,7 @@ package nu.xom;
  * 
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.0
+ * @version 1.5.0
  *
  */
 public abstract class ParentNode extends Node {
@@ -48,6 +50,22 @@ public abstract class ParentNode extends Node {
     Node[] children; 
     int    childCount = 0;
     String actualBaseURI;
+    // The children array is a gap buffer. Its unused slots form a 
+    // single gap that begins at gapStart, so a run of insertions or 
+    // removals at neighboring positions doesn't shift the rest of 
+    // the array each time. Appending leaves the gap at the end.
+    private int gapStart = 0;
+    // The position most recently inserted or found by indexOf.
+    // This is only a hint that indexOf always verifies, so it's
+    // harmless that reading a frozen document can update it.
+    private int lastPosition = -1;
+    // A frozen element with the same children as this one. When
+    // this is non-null, this node's own children haven't been
+    // copied from it yet.
+    Element original;
+    // The numbering of the tree this node was in when DocumentOrder
+    // last numbered it. Adding or removing a child invalidates it.
+    DocumentOrder.Numbering numbering;
 
     /**
      * <p>
@@ -69,8 +87,39 @@ public abstract class ParentNode extends Node {
      * @return the number of children of this node
      */
     public int getChildCount() {
+        if (original != null) copyOriginalChildren();
         return childCount; 
     }
+    
+    
+    // Copies the children of a frozen element into this copy of
+    // it the first time they are needed. Child elements are copied 
+    // the same way, so each level of the tree is only copied when
+    // something looks at it.
+    private void copyOriginalChildren() {
+        
+        Element source = original;
+        original = null;
+        int count = source.childCount;
+        children = new Node[count];
+        for (int i = 0; i < count; i++) {
+            Node child = source.getChild(i);
+            Node copy;
+            if (child.isElement()) {
+                Element element = Element.copyTag((Element) child);
+                if (child.getChildCount() > 0) {
+                    element.original = (Element) child;
+                }
+                copy = element;
+            }
+            else copy = child.copy();
+            copy.setParent(this);
+            children[i] = copy;
+        }
+        childCount = count;
+        gapStart = count;
+        
+    }
 
     
     /**
@@ -101,6 +150,8 @@ public abstract class ParentNode extends Node {
      * @throws NullPointerException if <code>child</code> is null
      * @throws IndexOutOfBoundsException if the position is negative or 
      *     greater than the number of children of this node
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void insertChild(Node child, int position) {
         _insertChild(child, position);
@@ -110,23 +161,31 @@ public abstract class ParentNode extends Node {
     // because this method is called from Document constructor and
     // constructors should not call overridable methods
     final void _insertChild(Node child, int position) {
+        checkNotFrozen();
         insertionAllowed(child, position);
         fastInsertChild(child, position);
     }
 
 
     void fastInsertChild(Node child, int position) {
+        if (original != null) copyOriginalChildren();
         if (position > childCount) {
             throw new IndexOutOfBoundsException("Inserted node at position " + position + " after children");
         }
-        checkCapacity(childCount+1);
-        if (position < childCount) {
-            // make space in the middle for the new child; otherwise just add it at the end
-            System.arraycopy(children, position, children, position+1, childCount-position);
+        else if (position < 0) {
+            throw new IndexOutOfBoundsException("Inserted node at negative position " + position);
         }
+        checkCapacity(childCount+1);
+        moveGap(position);
         children[position] = child;
+        gapStart++;
         childCount++;
+        lastPosition = position;
         child.setParent(this);
+        if (child.isElement()) ((Element) child).clearInScopeNamespaces();
+        invalidateOrder();
+        invalidateBaseURIs();
+        if (child.isElement()) ((Element) child).invalidateBaseURIs();
     }
 
 
@@ -134,17 +193,213 @@ public abstract class ParentNode extends Node {
 
         if (children == null) {
             children = new Node[1];
+            gapStart = 0;
         }
-        else if (position >= children.length) {
+        else if (position > children.length) {
+            // The array is full so the gap is empty and
+            // the children are contiguous.
             Node[] data = new Node[children.length * 2];
             System.arraycopy(children, 0, data, 0, children.length);
             this.children = data;
+            gapStart = childCount;
+        }
+        
+    }
+    
+    
+    // Moves the gap so it begins at the specified position,
+    // shifting only the children between the old and new
+    // locations of the gap.
+    private void moveGap(int position) {
+        
+        int gap = children.length - childCount;
+        if (gap != 0 && position < gapStart) {
+            int moved = gapStart - position;
+            System.arraycopy(children, position, children, position + gap, moved);
+            Arrays.fill(children, position, position + Math.min(moved, gap), null);
+        }
+        else if (gap != 0 && position > gapStart) {
+            int moved = position - gapStart;
+            System.arraycopy(children, gapStart + gap, children, gapStart, moved);
+            Arrays.fill(children, Math.max(position, gapStart + gap), position + gap, null);
         }
+        gapStart = position;
         
     }
+    
+    
+    // Drops the gap so the children array is exactly as long as 
+    // it needs to be. Only worth doing when no more children
+    // will be added, as when the document is frozen.
+    final void trimChildren() {
+        
+        if (children == null) return;
+        if (childCount == 0) {
+            children = null;
+            gapStart = 0;
+        }
+        else if (children.length > childCount) {
+            moveGap(childCount);
+            children = Arrays.copyOf(children, childCount);
+        }
+        
+    }
+    
+    
+    // Replaces the child at the specified position without
+    // checking the child or updating anything but the caches
+    final void fastSetChild(int position, Node child) {
+        checkPosition(position);
+        if (position >= gapStart) position += children.length - childCount;
+        children[position] = child;
+        invalidateOrder();
+        invalidateBaseURIs();
+        if (child.isElement()) ((Element) child).invalidateBaseURIs();
+    }
+    
+    
+    // Freezing a document marks the numbering that all its parent
+    // nodes share, so no node needs a flag of its own.
+    final boolean inFrozenTree() {
+        DocumentOrder.Numbering current = numbering;
+        return current != null && current.frozen;
+    }
+    
+    
+    final void invalidateOrder() {
+        if (numbering != null) numbering.valid = false;
+    }
+    
+    
+    // Discards the cached base URIs that could depend on this
+    // node. Only elements cache base URIs; see Element.getBaseURI.
+    void invalidateBaseURIs() {}
 
 
     abstract void insertionAllowed(Node child, int position);
+    
+    
+    // Checks a whole list of nodes about to be inserted together at
+    // the same position, allowing for the earlier nodes in the list.
+    abstract void insertionAllowed(Node[] nodes, int position);
+
+    
+    /**
+     * <p>
+     * Inserts several nodes at the specified position, in order.
+     * The child node previously at that position (if any) and all
+     * subsequent child nodes are moved up by the number of nodes
+     * inserted. This is equivalent to inserting each node in turn
+     * at successive positions, but the children are shifted and the
+     * nodes checked only once, so it's much faster for long lists.
+     * Either all the nodes are inserted or, if any of them can't be,
+     * none of them are.
+     * </p>
+     * 
+     * <p>
+     * Unlike <code>insertChild</code>, this method does not call
+     * any overridden <code>insertChild</code> method for each node.
+     * To move a run of children from one parent to another, pass
+     * the list returned by {@link #removeChildren(int, int)}.
+     * </p>
+     * 
+     * @param nodes the nodes to insert
+     * @param position where to insert the first node
+     * 
+     * @throws IllegalAddException if this node cannot have a child of
+     *     the type of one of the nodes
+     * @throws MultipleParentException if any of the nodes already 
+     *     has a parent, or appears in the list more than once
+     * @throws CycleException if one of the nodes is this node
+     *     or one of its ancestors
+     * @throws NullPointerException if <code>nodes</code> is null
+     *     or contains null
+     * @throws IndexOutOfBoundsException if the position is negative or 
+     *     greater than the number of children of this node
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
+     */
+    public void insertChildren(Nodes nodes, int position) {
+        
+        checkNotFrozen();
+        if (original != null) copyOriginalChildren();
+        if (position > childCount) {
+            throw new IndexOutOfBoundsException("Inserted nodes at position " 
+              + position + " after children");
+        }
+        else if (position < 0) {
+            throw new IndexOutOfBoundsException(
+              "Inserted nodes at negative position " + position);
+        }
+        if (nodes == null) {
+            throw new NullPointerException("Tried to insert null nodes");
+        }
+        int count = nodes.size();
+        if (count == 0) return;
+        Node[] added = new Node[count];
+        for (int i = 0; i < count; i++) added[i] = nodes.get(i);
+        insertionAllowed(added, position);
+        
+        // Leave a gap exactly where the new nodes go
+        if (children == null) {
+            children = new Node[count];
+            gapStart = 0;
+        }
+        else {
+            moveGap(position);
+            if (children.length - childCount < count) {
+                int capacity = Math.max(children.length * 2, childCount + count);
+                Node[] data = new Node[capacity];
+                int tail = childCount - position;
+                System.arraycopy(children, 0, data, 0, position);
+                System.arraycopy(children, children.length - tail, data, capacity - tail, tail);
+                children = data;
+            }
+        }
+        System.arraycopy(added, 0, children, position, count);
+        gapStart = position + count;
+        childCount += count;
+        lastPosition = position + count - 1;
+        
+        for (int i = 0; i < count; i++) {
+            Node child = added[i];
+            child.setParent(this);
+            if (child.isElement()) {
+                ((Element) child).clearInScopeNamespaces();
+                ((Element) child).invalidateBaseURIs();
+            }
+        }
+        invalidateOrder();
+        invalidateBaseURIs();
+        
+    }
+    
+    
+    /**
+     * <p>
+     * Appends several nodes to the children of this node, in order.
+     * This is equivalent to appending each of them in turn, but 
+     * much faster for long lists. Either all the nodes are appended
+     * or, if any of them can't be, none of them are.
+     * </p>
+     * 
+     * @param nodes the nodes to append
+     * 
+     * @throws IllegalAddException if this node cannot have a child of
+     *     the type of one of the nodes
+     * @throws MultipleParentException if any of the nodes already 
+     *     has a parent, or appears in the list more than once
+     * @throws CycleException if one of the nodes is this node
+     *     or one of its ancestors
+     * @throws NullPointerException if <code>nodes</code> is null
+     *     or contains null
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
+     */
+    public void appendChildren(Nodes nodes) {
+        if (original != null) copyOriginalChildren();
+        insertChildren(nodes, childCount);
+    }
 
     
     /**
@@ -158,9 +413,12 @@ public abstract class ParentNode extends Node {
      *     of this type
      * @throws MultipleParentException if child already has a parent
      * @throws NullPointerException if <code>child</code> is null
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      * 
      */
     public void appendChild(Node child) {
+        if (original != null) copyOriginalChildren();
         insertChild(child, childCount);
     }
 
@@ -181,17 +439,36 @@ public abstract class ParentNode extends Node {
      */
     public Node getChild(int position) {
         
+        if (original != null) copyOriginalChildren();
         if (children == null) {
             throw new IndexOutOfBoundsException(
               "This node has no children"
             );
         }
+        checkPosition(position);
+        if (position >= gapStart) position += children.length - childCount;
         return children[position]; 
         
     }
     
     
-    // private int lastPosition = -1;
+    // Positions must be checked before they're translated past the
+    // gap, both because a position past the last child could land
+    // in the gap and so that the exception reports the position
+    // the caller asked for.
+    private void checkPosition(int position) {
+        
+        if (position < 0) {
+            throw new IndexOutOfBoundsException(
+              "Negative position " + position);
+        }
+        if (position >= childCount) {
+            throw new IndexOutOfBoundsException("No child at position " 
+              + position + "; this node has " + childCount + " children");
+        }
+        
+    }
+    
     
     /**
      *<p>
@@ -202,9 +479,12 @@ public abstract class ParentNode extends Node {
      * </p>
      * 
      * <p>
-     * This method does a linear search through the node's children. 
-     * On average, it executes in O(N) where N is the number of 
-     * children of the node.
+     * This method first checks the positions next to the child 
+     * most recently inserted or found, so working through the 
+     * children in order, whether forwards or backwards, takes 
+     * constant time per child. Otherwise it does a linear search 
+     * through the node's children, which executes in O(N) 
+     * where N is the number of children of the node.
      * </p>
      * 
      * @param child the node whose position is desired
@@ -214,28 +494,68 @@ public abstract class ParentNode extends Node {
      */
     public int indexOf(Node child) {
         
-        if (children == null) return -1;
+        if (children == null || child == null) return -1;
+        if (child.getParent() != this) return -1;
         
-        // Programs tend to iterate through in order so we store the 
-        // last index returned and check the one immediately after it
-        //  first; before searching the list from the beginning. 
-        /* lastPosition++;
-        if (lastPosition != children.size()) {
-            if (child == children.get(lastPosition)) {
-              return lastPosition;
+        // Programs tend to iterate through in order so we check
+        // the positions on either side of the last one found 
+        // before searching the list from the beginning. 
+        int gap = children.length - childCount;
+        int hint = lastPosition;
+        if (hint >= 0) {
+            int last = Math.min(hint + 1, childCount - 1);
+            for (int i = Math.max(hint - 1, 0); i <= last; i++) {
+                int index = i >= gapStart ? i + gap : i;
+                if (child == children[index]) {
+                    lastPosition = i;
+                    return i;
+                }
             }
-            else lastPosition = -1;
         }
-        lastPosition = children.indexOf(child);
-        return lastPosition; */
-        for (int i = 0; i < childCount; i++) {
-            if (child == children[i]) return i;
+        for (int i = 0; i < gapStart; i++) {
+            if (child == children[i]) {
+                lastPosition = i;
+                return i;
+            }
+        }
+        for (int i = gapStart + gap; i < children.length; i++) {
+            if (child == children[i]) {
+                lastPosition = i - gap;
+                return i - gap;
+            }
         }
         return -1;
         
     }
 
     
+    // Returns the first child element at or after the specified
+    // position, or null if there isn't one. If localName is 
+    // non-null, the element must also have that local name and 
+    // namespace URI. Remembers where the element was found so 
+    // that indexOf can find it again immediately.
+    final Element findChildElement(int position, 
+      String localName, String namespaceURI) {
+        
+        if (original != null) copyOriginalChildren();
+        int gap = children == null ? 0 : children.length - childCount;
+        for (int i = position; i < childCount; i++) {
+            Node child = children[i >= gapStart ? i + gap : i];
+            if (child.isElement()) {
+                Element element = (Element) child;
+                if (localName == null 
+                  || (localName.equals(element.getLocalName())
+                    && namespaceURI.equals(element.getNamespaceURI()))) {
+                    lastPosition = i;
+                    return element;
+                }
+            }
+        }
+        return null;
+        
+    }
+
+    
     /**
      * <p>
      * Removes the child of this node at the specified position.
@@ -249,33 +569,103 @@ public abstract class ParentNode extends Node {
      * 
      * @throws IndexOutOfBoundsException if the index is negative or
      *     greater than or equal to the number of children of this node
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public Node removeChild(int position) {
         
+        checkNotFrozen();
+        if (original != null) copyOriginalChildren();
         if (children == null) {
             throw new IndexOutOfBoundsException(
               "This node has no children"
             );
         }
-        Node removed = children[position];
+        Node removed = getChild(position);
         // fill in actual base URI
         // This way does add base URIs to elements created in memory
         // XXX but this is a HotSpot when building; we need a fastRemoveChild
-        if (removed.isElement()) fillInBaseURI((Element) removed);
-        
-        int toCopy = childCount-position-1;
-        if (toCopy > 0) {
-            System.arraycopy(children, position+1, children, position, toCopy);
+        if (removed.isElement()) {
+            fillInBaseURI((Element) removed);
+            ((Element) removed).clearInScopeNamespaces();
         }
+        
+        // Removing the first child after the gap just widens the gap
+        moveGap(position);
+        children[position + children.length - childCount] = null;
         childCount--;
-        children[childCount] = null;
+        lastPosition = position;
         removed.setParent(null);
+        invalidateOrder();
+        invalidateBaseURIs();
                 
         return removed;  
         
     }
 
     
+    /**
+     * <p>
+     * Removes the children of this node from position 
+     * <code>from</code> up to but not including position 
+     * <code>to</code>. The remaining children are shifted only once,
+     * so this is much faster than removing the children one at a 
+     * time. The removed nodes are returned in order, detached and 
+     * ready to be inserted somewhere else.
+     * </p>
+     * 
+     * <p>
+     * Unlike <code>removeChild</code>, this method does not call
+     * any overridden <code>removeChild</code> method for each node.
+     * </p>
+     * 
+     * @param from the position of the first child to remove
+     * @param to the position after the last child to remove
+     *
+     * @return the nodes which were removed
+     * 
+     * @throws IndexOutOfBoundsException if <code>from</code> is 
+     *     negative, <code>to</code> is greater than the number of 
+     *     children of this node, or <code>from</code> is greater 
+     *     than <code>to</code>
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
+     */
+    public Nodes removeChildren(int from, int to) {
+        
+        checkNotFrozen();
+        if (original != null) copyOriginalChildren();
+        if (from < 0 || to > childCount || from > to) {
+            throw new IndexOutOfBoundsException("Cannot remove children from "
+              + from + " to " + to + " of " + childCount);
+        }
+        Nodes removed = new Nodes();
+        if (from == to) return removed;
+        
+        // Afterwards the children to remove are the first ones
+        // after the gap, so removing them just widens it.
+        moveGap(from);
+        int gap = children.length - childCount;
+        for (int i = from + gap; i < to + gap; i++) {
+            Node child = children[i];
+            if (child.isElement()) {
+                fillInBaseURI((Element) child);
+                ((Element) child).clearInScopeNamespaces();
+            }
+            child.setParent(null);
+            children[i] = null;
+            removed.append(child);
+        }
+        childCount -= to - from;
+        lastPosition = from;
+        invalidateOrder();
+        invalidateBaseURIs();
+        
+        return removed;
+        
+    }
+
+    
     void fillInBaseURI(Element removed) {
 
         ParentNode parent = removed;
@@ -300,9 +690,12 @@ public abstract class ParentNode extends Node {
      * 
      * @throws NoSuchChildException if <code>child</code> is 
      *     not in fact a child of this node
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public Node removeChild(Node child) {
         
+        checkNotFrozen();
         if (children == null) {
             throw new NoSuchChildException(
               "Child does not belong to this node"
@@ -342,9 +735,12 @@ public abstract class ParentNode extends Node {
      * @throws NullPointerException if either argument is null
      * @throws IllegalAddException if this node cannot have children 
      *     of the type of <code>newChild</code>
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void replaceChild(Node oldChild, Node newChild) {
         
+        checkNotFrozen();
         if (oldChild == null) {
             throw new NullPointerException(
               "Tried to replace null child"
@@ -433,6 +829,7 @@ public abstract class ParentNode extends Node {
         if (uri == null) uri = "";
         if (!"".equals(uri)) Verifier.checkAbsoluteURI(uri);
         actualBaseURI = uri;     
+        invalidateBaseURIs();
     }
 
 
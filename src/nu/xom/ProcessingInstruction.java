@@ -38,7 +38,7 @@ package nu.xom;
  * </ul>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.0
+ * @version 1.5.0
  *
  */
 public class ProcessingInstruction extends Node {
@@ -112,8 +112,11 @@ public class ProcessingInstruction extends Node {
      * @throws IllegalTargetException if the proposed target 
      *     is not an XML 1.0 non-colonized name or is the string 
      *     "xml" in any case
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setTarget(String target) {
+        checkNotFrozen();
         _setTarget(target);
     }  
 
@@ -151,8 +154,11 @@ public class ProcessingInstruction extends Node {
      * 
      * @throws IllegalDataException if <code>data</code> is null
      *      or otherwise not legal XML processing instruction data
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setValue(String data) {
+        checkNotFrozen();
         _setValue(data);
     }
 
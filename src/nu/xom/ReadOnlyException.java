@@ -0,0 +1,66 @@
+/* Copyright 2026 Elliotte Rusty Harold
+   
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public 
+   License as published by the Free Software Foundation.
+   
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the 
+   GNU Lesser General Public License for more details.
+   
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+   
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+/**
+ * <p>
+ *  Indicates an attempt to change a node in a document
+ *  that has been frozen.
+ * </p>
+ * 
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public class ReadOnlyException extends XMLException {
+
+    
+    private static final long serialVersionUID = -2378415526047019375L;
+
+
+    /**
+     * <p>
+     *  Creates a new <code>ReadOnlyException</code>
+     *  with a detail message.
+     * </p>
+     * 
+     * @param message a string indicating the specific problem
+     */
+    public ReadOnlyException(String message) {
+        super(message);
+    }
+
+    
+    /**
+     * <p>
+     * Creates a new <code>ReadOnlyException</code> with a detail message
+     * and an underlying root cause.
+     * </p>
+     * 
+     * @param message a string indicating the specific problem
+     * @param cause the original cause of this exception
+     */
+    public ReadOnlyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    
+}
\ No newline at end of file
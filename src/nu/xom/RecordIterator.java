@@ -0,0 +1,529 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * <p>
+ *   Returns the elements at a given path in a document one at
+ *   a time as the document is parsed. Instances are created by
+ *   {@link Builder#stream(java.io.InputStream, String)}.
+ * </p>
+ *
+ * <p>
+ *   With the default Xerces parser, the document is parsed in the
+ *   caller's thread a little at a time. Each call to
+ *   <code>hasNext</code> reads only as far as the next matching
+ *   element. Other parsers can only parse a whole document at
+ *   once, so with them the document is parsed in a background
+ *   thread that stays no more than a few elements ahead of the
+ *   caller. If you stop before reaching the end of the document,
+ *   call <code>close</code> so that thread can stop too. Otherwise
+ *   it waits forever for you to take the next element, and keeps
+ *   the <code>Builder</code> and the input stream with it.
+ * </p>
+ *
+ * <pre><code>  RecordIterator entries = builder.stream(in, "/feed/entry");
+ *   try {
+ *       while (entries.hasNext()) {
+ *           Element entry = entries.next();
+ *           ...
+ *       }
+ *   }
+ *   finally {
+ *       entries.close();
+ *   }</code></pre>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public final class RecordIterator implements Iterator<Element>, Closeable {
+
+
+    // how far a background parser can get ahead of the caller
+    private final static int CAPACITY = 16;
+    private final static Object END = new Object();
+
+    // Matches, and then END or what the parser threw, in the order
+    // the parser found them. 
+    private final BlockingQueue<Object> queue;
+    // Non-null if the caller's thread parses the document 
+    private final Builder.Steps steps;
+    // Non-null if a background thread parses the document
+    private final Thread parser;
+    private volatile boolean closed = false;
+
+    // only used by the caller's thread
+    private Element next = null;
+    private boolean finished = false;
+
+
+    RecordIterator(final Builder builder, final InputSource source,
+      NodeFactory factory, String[] path) {
+
+        final XOMHandler handler = new RecordHandler(factory, path);
+        steps = builder.startSteps(source, handler);
+        if (steps != null) {
+            queue = new LinkedBlockingQueue<Object>();
+            parser = null;
+            return;
+        }
+        
+        queue = new ArrayBlockingQueue<Object>(CAPACITY);
+        parser = new Thread("XOM record parser") {
+            public void run() {
+                Object result = END;
+                try {
+                    builder.build(source, handler);
+                }
+                catch (ParsingException ex) {
+                    result = ex;
+                }
+                catch (IOException ex) {
+                    result = ex;
+                }
+                catch (RuntimeException ex) {
+                    result = ex;
+                }
+                catch (Error err) {
+                    result = err;
+                }
+                if (!closed) {
+                    try {
+                        queue.put(result);
+                    }
+                    catch (InterruptedException ex) {
+                        // closed while waiting, so nobody's listening
+                    }
+                }
+            }
+        };
+        parser.setDaemon(true);
+        parser.start();
+
+    }
+
+
+    static String[] parsePath(String path) {
+
+        if (path == null) {
+            throw new NullPointerException("Null path");
+        }
+        if (!path.startsWith("/")) {
+            throw new IllegalArgumentException(
+              "Path " + path + " does not begin with a slash");
+        }
+        String[] steps = path.substring(1).split("/", -1);
+        for (int i = 0; i < steps.length; i++) {
+            if (!"*".equals(steps[i])) Verifier.checkXMLName(steps[i]);
+        }
+        return steps;
+
+    }
+
+
+    /**
+     * <p>
+     * Returns true if there's another matching element in the
+     * document. This method blocks until the parser finds the
+     * next matching element or reaches the end of the document.
+     * </p>
+     *
+     * @return true if <code>next</code> will return an element
+     *
+     * @throws XMLException if the document is malformed or invalid,
+     *     or could not be read. The cause is the
+     *     <code>ParsingException</code>,
+     *     <code>ValidityException</code>, or
+     *     <code>IOException</code> the <code>Builder</code> threw.
+     */
+    public boolean hasNext() {
+
+        if (next != null) return true;
+        if (finished) return false;
+
+        Object item;
+        if (steps != null) {
+            step();
+            item = queue.remove();
+        }
+        else {
+            try {
+                item = queue.take();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new XMLException(
+                  "Interrupted while waiting for the parser", ex);
+            }
+        }
+
+        if (item instanceof Element) {
+            next = (Element) item;
+            return true;
+        }
+        finished = true;
+        if (item == END) return false;
+        else if (item instanceof Error) throw (Error) item;
+        Throwable cause = (Throwable) item;
+        throw new XMLException(cause.getMessage(), cause);
+
+    }
+
+
+    // Parses the document in the caller's thread until the parser
+    // finds another match, reaches the end, or fails.
+    private void step() {
+        
+        while (queue.isEmpty()) {
+            Object result = null;
+            try {
+                if (!steps.next()) result = END;
+            }
+            catch (ParsingException ex) {
+                result = ex;
+            }
+            catch (IOException ex) {
+                result = ex;
+            }
+            catch (RuntimeException ex) {
+                result = ex;
+            }
+            catch (Error err) {
+                result = err;
+            }
+            if (result != null) queue.add(result);
+        }
+        
+    }
+
+
+    /**
+     * <p>
+     * Returns the next matching element in the document. The
+     * element has no parent.
+     * </p>
+     *
+     * @return the next matching element
+     *
+     * @throws NoSuchElementException if there are no more
+     *     matching elements
+     * @throws XMLException if the document is malformed or invalid,
+     *     or could not be read
+     */
+    public Element next() {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more elements match");
+        }
+        Element result = next;
+        next = null;
+        return result;
+
+    }
+
+
+    /**
+     * <p>
+     * Throws <code>UnsupportedOperationException</code>.
+     * The elements returned are not part of any document,
+     * so there's nothing to remove them from.
+     * </p>
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void remove() {
+        throw new UnsupportedOperationException(
+          "Streamed elements cannot be removed");
+    }
+
+
+    /**
+     * <p>
+     * Stops parsing the document. After this method returns, 
+     * <code>hasNext</code> returns false and the 
+     * <code>Builder</code> can be used again. Like reaching the
+     * end of the document, this closes the input stream.
+     * </p>
+     * 
+     * <p>
+     * If a background thread is parsing the document, this method
+     * waits for it to finish. The thread notices that the iterator
+     * has been closed the next time it starts an element or finds
+     * a match, so it may have to read a little more of the input
+     * first. It is never interrupted, since interrupting a thread
+     * that's reading from a channel closes the channel.
+     * </p>
+     */
+    public void close() {
+
+        if (closed) return;
+        closed = true;
+        finished = true;
+        next = null;
+        if (steps != null) {
+            steps.stop();
+            queue.clear();
+            return;
+        }
+        // Makes room in case the parser is waiting to hand over
+        // a match. It checks for closing before handing over
+        // another, so it can't fill the queue again.
+        queue.clear();
+        try {
+            parser.join();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+    }
+
+
+    // thrown inside the parser to abandon the parse
+    // once the iterator has been closed
+    private static class Cancelled extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        Cancelled() {
+            super("Stream closed");
+        }
+
+    }
+
+
+    /*
+     * Tracks where the parser is relative to the path, and hands 
+     * each match to the caller once the XOMHandler has detached it.
+     * Depth is tracked here rather than in the factory because the 
+     * factory doesn't hear about the end of elements it skipped.
+     */
+    private class RecordHandler extends XOMHandler {
+
+        private final String[] path;
+        
+        // the depth of the current element; the root is 1
+        private int depth = 0;
+        // the number of the current element's ancestors-or-self
+        // that match the corresponding step of the path
+        private int matched = 0;
+        // the depth of the match being built, or 0 
+        // outside any match
+        private int recordDepth = 0;
+        // what the factory made of the match that just finished
+        private Nodes pending = null;
+
+
+        RecordHandler(NodeFactory factory, String[] path) {
+            super(null);
+            this.factory = new RecordFactory(this, factory);
+            this.path = path;
+        }
+
+
+        public void startElement(String namespaceURI, String localName,
+          String qualifiedName, org.xml.sax.Attributes attributes)
+          throws SAXException {
+
+            if (closed) throw new Cancelled();
+            depth++;
+            if (recordDepth == 0 && matched == depth - 1
+              && matched < path.length) {
+                String step = path[matched];
+                if ("*".equals(step) || step.equals(qualifiedName)) {
+                    matched++;
+                    if (matched == path.length) recordDepth = depth;
+                }
+            }
+            super.startElement(
+              namespaceURI, localName, qualifiedName, attributes);
+
+        }
+
+
+        public void endElement(String namespaceURI, String localName, 
+          String qualifiedName) {
+
+            super.endElement(namespaceURI, localName, qualifiedName);
+            if (depth == recordDepth) {
+                recordDepth = 0;
+                if (pending != null) handOff(pending);
+                pending = null;
+            }
+            if (depth == matched) matched--;
+            depth--;
+
+        }
+
+
+        private void handOff(Nodes records) {
+
+            for (int i = 0; i < records.size(); i++) {
+                Node node = records.get(i);
+                if (node.isElement()) {
+                    if (closed) throw new Cancelled();
+                    try {
+                        queue.put(node);
+                    }
+                    catch (InterruptedException ex) {
+                        throw new Cancelled();
+                    }
+                }
+            }
+
+        }
+
+    }
+
+
+    /*
+     * Builds the matching elements with the builder's own factory.
+     * Everything else is built with the default factory, if at all, 
+     * and thrown away as soon as it ends, so the only nodes alive 
+     * outside the current match are the ancestors of the current 
+     * element.
+     */
+    private static class RecordFactory extends NodeFactory {
+
+        private final RecordHandler handler;
+        private final NodeFactory factory;
+        private final Nodes empty = new Nodes();
+
+
+        RecordFactory(RecordHandler handler, NodeFactory factory) {
+            this.handler = handler;
+            this.factory = factory;
+        }
+
+
+        private boolean inRecord() {
+            return handler.recordDepth != 0;
+        }
+
+
+        public Element makeRootElement(String name, String namespace) {
+
+            if (inRecord()) {
+                Element root = factory.startMakingElement(name, namespace);
+                if (root != null) return root;
+            }
+            return super.makeRootElement(name, namespace);
+
+        }
+
+
+        public Element startMakingElement(String name, String namespace) {
+
+            if (inRecord()) {
+                return factory.startMakingElement(name, namespace);
+            }
+            return super.startMakingElement(name, namespace);
+
+        }
+
+
+        public Nodes finishMakingElement(Element element) {
+
+            if (inRecord()) {
+                Nodes result = factory.finishMakingElement(element);
+                if (handler.depth > handler.recordDepth) return result;
+                handler.pending = result;
+                if (handler.depth == 1) {
+                    // The root can't be removed, only replaced.
+                    return new Nodes(new Element(
+                      element.getQualifiedName(),
+                      element.getNamespaceURI()));
+                }
+                return empty;
+            }
+            else if (handler.depth == 1) return new Nodes(element);
+            return empty;
+
+        }
+
+
+        public Nodes makeAttribute(String name, String URI,
+          String value, Attribute.Type type) {
+            if (inRecord()) {
+                return factory.makeAttribute(name, URI, value, type);
+            }
+            return empty;
+        }
+
+
+        public Nodes makeComment(String data) {
+            if (inRecord()) return factory.makeComment(data);
+            return empty;
+        }
+
+
+        public Nodes makeDocType(String rootElementName,
+          String publicID, String systemID) {
+            return empty;
+        }
+
+
+        public Nodes makeText(String data) {
+            if (inRecord()) return factory.makeText(data);
+            return empty;
+        }
+
+
+        Nodes makeCDATASection(String data) {
+            if (inRecord()) return factory.makeCDATASection(data);
+            return empty;
+        }
+
+
+        public Nodes makeProcessingInstruction(
+          String target, String data) {
+            if (inRecord()) {
+                return factory.makeProcessingInstruction(target, data);
+            }
+            return empty;
+        }
+
+
+        void addAttribute(Element element, Attribute attribute) {
+            factory.addAttribute(element, attribute);
+        }
+
+
+        void insertChild(Element element, Node child, int position) {
+            factory.insertChild(element, child, position);
+        }
+
+    }
+
+
+}
@@ -190,8 +190,14 @@ public class Serializer {
         } 
         Writer writer;  
         String encodingUpperCase = encoding.toUpperCase(Locale.ENGLISH);
+        // UTF-8 and ASCII are encoded by XOM itself so that text 
+        // nodes can copy their UTF-8 data straight into the output
         if (encodingUpperCase.equals("UTF-8")) {
-           writer = new OutputStreamWriter(out, "UTF-8");  
+           writer = new UnsynchronizedUTF8Writer(out, false);  
+        }
+        else if (encodingUpperCase.equals("US-ASCII")
+          || encodingUpperCase.equals("ASCII")) {
+           writer = new UnsynchronizedUTF8Writer(out, true);  
         }
         else if (encodingUpperCase.equals("UTF-16") 
           || encodingUpperCase.equals("ISO-10646-UCS-2")) {
@@ -217,7 +223,9 @@ public class Serializer {
         }
         else writer = new OutputStreamWriter(out, encoding);
         
-        writer = new UnsynchronizedBufferedWriter(writer);
+        if (!(writer instanceof UnsynchronizedUTF8Writer)) {
+            writer = new UnsynchronizedBufferedWriter(writer);
+        }
         this.escaper = TextWriterFactory.getTextWriter(writer, encoding);
         
     }
@@ -769,9 +777,13 @@ public class Serializer {
      */
     protected void write(Text text) throws IOException {
         
-        // XXX Is there a shortcut that takes advantage of the
-        // data being stored in UTF-8 here? perhaps even if only
-        // when serializing to UTF-8?
+        // When writing UTF-8 or ASCII, copy the stored UTF-8 
+        // bytes straight to the output without decoding them
+        if (!text.isCDATASection() 
+          && escaper.writeUTF8PCDATA(text.getUTF8Data())) {
+            return;
+        }
+        
         String value = text.getValue();
         if (text.isCDATASection() 
           && value.indexOf("]]>") == -1) {
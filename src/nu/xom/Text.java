@@ -39,7 +39,7 @@ import java.io.UnsupportedEncodingException;
  * </p>
  *
  * @author Elliotte Rusty Harold
- * @version 1.3.0
+ * @version 1.5.0
  *
  */
 public class Text extends Node {
@@ -103,6 +103,57 @@ public class Text extends Node {
         
     }
 
+
+    // Encodes the first length characters of text straight into the
+    // UTF-8 array the new node keeps, without an intermediate String.
+    // The builder reuses the array it passes here for the next text
+    // node. The text must be well-formed, so every surrogate is half
+    // of a pair.
+    static Text build(char[] text, int length) {
+        
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text[i];
+            if (c < 0x80) size++;
+            else if (c < 0x800) size += 2;
+            else if (c >= 0xD800 && c <= 0xDBFF) {
+                size += 4;
+                i++;
+            }
+            else size += 3;
+        }
+        
+        byte[] data = new byte[size];
+        int pos = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text[i];
+            if (c < 0x80) {
+                data[pos++] = (byte) c;
+            }
+            else if (c < 0x800) {
+                data[pos++] = (byte) (0xC0 | (c >> 6));
+                data[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+            else if (c >= 0xD800 && c <= 0xDBFF) {
+                int codePoint = Character.toCodePoint(c, text[++i]);
+                data[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                data[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                data[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                data[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            }
+            else {
+                data[pos++] = (byte) (0xE0 | (c >> 12));
+                data[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                data[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        
+        Text result = new Text();
+        result.data = data;
+        return result;
+        
+    }
+
     
     /**
      * <p>
@@ -121,8 +172,11 @@ public class Text extends Node {
      * @throws IllegalCharacterDataException if data contains any 
      *     characters which are illegal in well-formed XML 1.0 such as 
      *     null, vertical tab, or unmatched halves of surrogate pairs
+     * @throws ReadOnlyException if this node belongs to a
+     *     frozen document
      */
     public void setValue(String data) {
+        checkNotFrozen();
         _setValue(data);
     }
 
@@ -142,6 +196,18 @@ public class Text extends Node {
         
     }
 
+    
+    // Called as the document is frozen.
+    void compact(ValuePool pool) {
+        data = pool.shareValue(data);
+    }
+
+    
+    void measure(MemoryUsage usage) {
+        usage.addText(data);
+    }
+
+    
     /**
      * <p>
      * Returns the XPath 1.0 string-value of this <code>Text</code> 
@@ -470,4 +536,10 @@ public class Text extends Node {
     }
 
     
+    // Callers must not modify the array
+    byte[] getUTF8Data() {
+        return this.data;
+    }
+
+    
 }
\ No newline at end of file
@@ -0,0 +1,242 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+/**
+ * <p>
+ *   Creates elements, attributes, text, and comments without
+ *   checking that their names, namespace URIs, and content are
+ *   legal. The constructors of those classes verify every name
+ *   and every character they're given, which is most of the cost
+ *   of building a large document in memory. When the names come
+ *   from constants and the content has already been checked, or
+ *   is known to contain only legal characters, that work is
+ *   wasted. The <code>Builder</code> skips it for the same reason
+ *   when the parser has already checked the document.
+ * </p>
+ *
+ * <p>
+ *   Given legal arguments, each method returns a node identical
+ *   to the one the corresponding public constructor returns.
+ *   Given illegal arguments, the result is undefined: the node
+ *   may be malformed and may make the document unserializable.
+ *   Only the nodes are created unchecked. Adding them to a tree
+ *   and changing them afterwards is checked as usual. The one
+ *   exception is that an element's namespace URI is still checked
+ *   to be absolute, just as it is when the <code>Builder</code>
+ *   creates elements. That check remembers the URIs it has seen,
+ *   so it costs little.
+ * </p>
+ *
+ * <p>
+ *   For debugging, a factory can be created that does check its
+ *   arguments, and so throws the same exceptions the constructors
+ *   do. Setting the system property
+ *   <code>nu.xom.TrustedNodeFactory.verify</code> to
+ *   <code>true</code> makes every factory created with the
+ *   no-args constructor check, so that a test suite can find
+ *   code that doesn't deserve the trust without changing it.
+ * </p>
+ *
+ * <p>
+ *   Factories have no mutable state and may be shared among threads.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public final class TrustedNodeFactory {
+
+
+    private final boolean verify;
+
+
+    /**
+     * <p>
+     * Creates a factory that doesn't check its arguments, unless
+     * the system property <code>nu.xom.TrustedNodeFactory.verify</code>
+     * is set to <code>true</code>.
+     * </p>
+     */
+    public TrustedNodeFactory() {
+        this(Boolean.getBoolean("nu.xom.TrustedNodeFactory.verify"));
+    }
+
+
+    /**
+     * <p>
+     * Creates a factory that checks its arguments
+     * only if <code>verify</code> is true.
+     * </p>
+     *
+     * @param verify true if this factory should check names,
+     *     namespace URIs, and data as the constructors do
+     */
+    public TrustedNodeFactory(boolean verify) {
+        this.verify = verify;
+    }
+
+
+    /**
+     * <p>
+     * Returns true if this factory checks its arguments.
+     * </p>
+     *
+     * @return true if this factory checks its arguments
+     */
+    public boolean isVerifying() {
+        return verify;
+    }
+
+
+    /**
+     * <p>
+     * Creates a new element in no namespace.
+     * </p>
+     *
+     * @param name the name of the element
+     *
+     * @return the new element
+     */
+    public Element createElement(String name) {
+        return createElement(name, "");
+    }
+
+
+    /**
+     * <p>
+     * Creates a new element in a namespace.
+     * </p>
+     *
+     * @param name the qualified name of the element
+     * @param uri the namespace URI of the element
+     *
+     * @return the new element
+     */
+    public Element createElement(String name, String uri) {
+
+        if (verify) return new Element(name, uri);
+        if (uri == null) uri = "";
+        int colon = name.indexOf(':');
+        String localName = colon < 0 ? name : name.substring(colon + 1);
+        return Element.build(name, uri, localName);
+
+    }
+
+
+    /**
+     * <p>
+     * Creates a new attribute in no namespace with the
+     * specified name and value and undeclared type.
+     * </p>
+     *
+     * @param localName the unprefixed attribute name
+     * @param value the attribute value
+     *
+     * @return the new attribute
+     */
+    public Attribute createAttribute(String localName, String value) {
+        return createAttribute(localName, "", value, Attribute.Type.UNDECLARED);
+    }
+
+
+    /**
+     * <p>
+     * Creates a new attribute in the specified namespace with the
+     * specified name and value and undeclared type.
+     * </p>
+     *
+     * @param name the prefixed attribute name
+     * @param uri the namespace URI
+     * @param value the attribute value
+     *
+     * @return the new attribute
+     */
+    public Attribute createAttribute(String name, String uri, String value) {
+        return createAttribute(name, uri, value, Attribute.Type.UNDECLARED);
+    }
+
+
+    /**
+     * <p>
+     * Creates a new attribute in the specified namespace with the
+     * specified name, value, and type. As with the constructor,
+     * an <code>xml:id</code> attribute is normalized and always
+     * has type ID.
+     * </p>
+     *
+     * @param name the prefixed attribute name
+     * @param uri the namespace URI
+     * @param value the attribute value
+     * @param type the attribute type
+     *
+     * @return the new attribute
+     */
+    public Attribute createAttribute(
+      String name, String uri, String value, Attribute.Type type) {
+
+        if (verify) return new Attribute(name, uri, value, type);
+        if (uri == null) uri = "";
+        int colon = name.indexOf(':');
+        String localName = colon < 0 ? name : name.substring(colon + 1);
+        return Attribute.build(name, uri, value, type, localName);
+
+    }
+
+
+    /**
+     * <p>
+     * Creates a new text node.
+     * </p>
+     *
+     * @param data the content of the text node
+     *
+     * @return the new text node
+     */
+    public Text createText(String data) {
+
+        if (verify) return new Text(data);
+        if (data == null) data = "";
+        return Text.build(data);
+
+    }
+
+
+    /**
+     * <p>
+     * Creates a new comment.
+     * </p>
+     *
+     * @param data the content of the comment
+     *
+     * @return the new comment
+     */
+    public Comment createComment(String data) {
+
+        if (verify) return new Comment(data);
+        if (data == null) data = "";
+        return Comment.build(data);
+
+    }
+
+
+}
@@ -0,0 +1,187 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * <p>
+ *   Encodes characters as UTF-8 straight into a byte buffer,
+ *   replacing the <code>OutputStreamWriter</code>/
+ *   <code>UnsynchronizedBufferedWriter</code> pair for
+ *   UTF-8 and ASCII output. Because the buffer holds bytes,
+ *   text that is already UTF-8 encoded can be copied into it
+ *   without being decoded and re-encoded.
+ * </p>
+ *
+ * <p>
+ *   In ASCII mode any character above 127 is written as a
+ *   question mark, just as <code>OutputStreamWriter</code> does.
+ *   The <code>TextWriter</code> escapes such characters before
+ *   they get here, so this should not happen in practice.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+final class UnsynchronizedUTF8Writer extends Writer {
+
+    private final static int CAPACITY = 8192;
+    private final byte[] buffer = new byte[CAPACITY];
+    private int    position = 0;
+    private final OutputStream out;
+    private final boolean ascii;
+
+    // Needed for memory between calls.
+    private char highSurrogate = 0;
+
+
+    UnsynchronizedUTF8Writer(OutputStream out, boolean ascii) {
+        this.out = out;
+        this.ascii = ascii;
+    }
+
+
+    boolean isASCII() {
+        return ascii;
+    }
+
+
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        throw new UnsupportedOperationException("XOM bug: this statement shouldn't be reachable.");
+    }
+
+
+    public void write(String s) throws IOException {
+         write(s, 0, s.length());
+    }
+
+
+    public void write(String s, int offset, int length) throws IOException {
+
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80 && highSurrogate == 0) {
+                if (position >= CAPACITY) flushInternal();
+                buffer[position++] = (byte) c;
+            }
+            else write(c);
+        }
+
+    }
+
+
+    public void write(int c) throws IOException {
+
+        if (position > CAPACITY - 4) flushInternal();
+
+        if (highSurrogate != 0) {
+            if (c >= 0xDC00 && c <= 0xDFFF) {
+                int uchar = UnicodeUtil.combineSurrogatePair(highSurrogate, (char) c);
+                highSurrogate = 0;
+                if (ascii) {
+                    buffer[position++] = '?';
+                }
+                else {
+                    buffer[position++] = (byte) (0xF0 | (uchar >> 18));
+                    buffer[position++] = (byte) (0x80 | ((uchar >> 12) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | ((uchar >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (uchar & 0x3F));
+                }
+                return;
+            }
+            // unmatched high surrogate
+            highSurrogate = 0;
+            buffer[position++] = '?';
+        }
+
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        }
+        else if (ascii) {
+            if (c >= 0xD800 && c <= 0xDBFF) highSurrogate = (char) c;
+            else buffer[position++] = '?';
+        }
+        else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        else if (c >= 0xD800 && c <= 0xDBFF) {
+            highSurrogate = (char) c;
+        }
+        else if (c >= 0xDC00 && c <= 0xDFFF) {
+            // unmatched low surrogate
+            buffer[position++] = '?';
+        }
+        else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+
+    }
+
+
+    /**
+     * <p>
+     * Copies bytes that are already encoded in UTF-8
+     * (or ASCII in ASCII mode) onto the stream.
+     * </p>
+     */
+    void writeEncoded(byte[] data, int offset, int length)
+      throws IOException {
+
+        if (length > CAPACITY - position) {
+            flushInternal();
+            if (length >= CAPACITY) {
+                out.write(data, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(data, offset, buffer, position, length);
+        position += length;
+
+    }
+
+
+    public void flush() throws IOException {
+        flushInternal();
+        out.flush();
+    }
+
+
+    private void flushInternal() throws IOException {
+        if (position != 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+
+    public void close() throws IOException {
+        throw new UnsupportedOperationException("How'd we get here?");
+    }
+
+}
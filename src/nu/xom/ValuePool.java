@@ -0,0 +1,107 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * <p>
+ * Collects the names, namespace URIs, and short values in a
+ * document being frozen so that nodes with equal values can share
+ * one copy. Parsing a typical document creates a separate string
+ * for every prefixed name and attribute value, and a separate
+ * array for every text node, even though most of them repeat.
+ * This is only safe once a document is frozen, since nothing
+ * can change the shared values afterwards.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ */
+final class ValuePool {
+
+
+    // Long values rarely repeat, and hashing them isn't free.
+    private final static int MAX_SHARED_LENGTH = 64;
+
+    private final HashMap<String, String> strings
+      = new HashMap<String, String>();
+    private final HashMap<Bytes, byte[]> arrays
+      = new HashMap<Bytes, byte[]>();
+
+
+    // names and URIs are always shared, whatever their length
+    String shareName(String name) {
+
+        if (name == null) return null;
+        String shared = strings.get(name);
+        if (shared == null) {
+            strings.put(name, name);
+            return name;
+        }
+        return shared;
+
+    }
+
+
+    String shareValue(String value) {
+        if (value == null || value.length() > MAX_SHARED_LENGTH) return value;
+        return shareName(value);
+    }
+
+
+    byte[] shareValue(byte[] value) {
+
+        if (value.length > MAX_SHARED_LENGTH) return value;
+        Bytes key = new Bytes(value);
+        byte[] shared = arrays.get(key);
+        if (shared == null) {
+            arrays.put(key, value);
+            return value;
+        }
+        return shared;
+
+    }
+
+
+    private static final class Bytes {
+
+        private final byte[] data;
+        private final int hash;
+
+        Bytes(byte[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object o) {
+            return o instanceof Bytes && Arrays.equals(data, ((Bytes) o).data);
+        }
+
+    }
+
+
+}
@@ -26,6 +26,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.StringTokenizer;
 
 import org.xml.sax.EntityResolver;
@@ -40,7 +42,7 @@ import org.xml.sax.XMLReader;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.2.11
+ * @version 1.5.0
  * 
  */
 final class Verifier {
@@ -877,32 +879,32 @@ final class Verifier {
     // of redundant code by storing the ones we've seen before. 
     private static URICache cache = new URICache(); 
 
+    // A direct-mapped table shared by all threads without locking.
+    // Each URI can only live in the slot its hash code selects, so
+    // a lookup reads one array element. Two threads storing different
+    // URIs in the same slot at once is harmless: one write wins, and
+    // the other URI is verified again the next time it's seen. 
+    // Strings are immutable, so a thread that reads a slot another
+    // thread wrote sees either null or a complete string.
     private final static class URICache {
      
-        private final static int LOAD = 6;
-        private String[] cache = new String[LOAD];
-        private int position = 0;
+        private final static int SIZE = 256; // must be a power of 2
+        private final String[] cache = new String[SIZE];
         
-        synchronized boolean contains(String s) {
-            
-            for (int i = 0; i < LOAD; i++) {
-                // Here I'm assuming the namespace URIs are interned.
-                // This is commonly but not always true. This won't
-                // break if they haven't been. Using equals() instead 
-                // of == is faster when the namespace URIs haven't been
-                // interned but slower if they have.
-                if (s == cache[i]) {
-                    return true;
-                }
-            }
-            return false;
-            
+        boolean contains(String s) {
+            String cached = cache[slot(s)];
+            // The namespace URIs from a parser are commonly interned,
+            // so try == first.
+            return cached == s || (cached != null && cached.equals(s));
         }
 
-        synchronized void put(String s) {
-            cache[position] = s;
-            position++;
-            if (position == LOAD) position = 0;
+        void put(String s) {
+            cache[slot(s)] = s;
+        }
+        
+        private static int slot(String s) {
+            int hash = s.hashCode();
+            return (hash ^ (hash >>> 16)) & (SIZE - 1);
         }
         
     }
@@ -1345,26 +1347,41 @@ final class Verifier {
     }
 
     
-    // For use in checking internal DTD subsets 
-    private static XMLReader parser;
-
-    static synchronized void checkInternalDTDSubset(String subset) {
-
-        if (parser == null) {
-            final InputSource empty = new InputSource(new EmptyReader());
-            parser = Builder.findParser(false);
-            // parser = new org.apache.crimson.parser.XMLReaderImpl();
-            // Now let's stop this parser from loading any external
-            // entities the subset references
-            parser.setEntityResolver(new EntityResolver() {
-
-                public InputSource resolveEntity(String publicID, String systemID) {
-                    return empty;
-                }   
-            
-            });
+    // Parsers for checking internal DTD subsets. Each thread borrows
+    // one for the duration of a check, so checks in different threads
+    // run in parallel. The lock is only held to take a parser from
+    // the pool or put one back. The pool never holds more than
+    // MAX_IDLE_PARSERS; any extras made when many threads check 
+    // subsets at once are discarded.
+    private final static int MAX_IDLE_PARSERS = 8;
+    private final static List<XMLReader> parsers 
+      = new ArrayList<XMLReader>(MAX_IDLE_PARSERS);
+    
+    // Many documents repeat the same boilerplate subset, so 
+    // subsets that have already passed aren't parsed again. 
+    // This works like the URI cache. Only short subsets are
+    // remembered, so the static table can't pin megabytes of
+    // strings from documents that are long gone. Parsing a long
+    // subset costs much more than comparing it anyway. 
+    private final static int SUBSET_CACHE_SIZE = 64; // must be a power of 2
+    private final static int MAX_CACHED_SUBSET_LENGTH = 1024;
+    private final static String[] subsets = new String[SUBSET_CACHE_SIZE];
+    
+
+    static void checkInternalDTDSubset(String subset) {
+
+        boolean cacheable = subset.length() <= MAX_CACHED_SUBSET_LENGTH;
+        int slot = 0;
+        if (cacheable) {
+            int hash = subset.hashCode();
+            slot = (hash ^ (hash >>> 16)) & (SUBSET_CACHE_SIZE - 1);
+            String cached = subsets[slot];
+            if (cached == subset || (cached != null && cached.equals(subset))) {
+                return;
+            }
         }
         
+        XMLReader parser = borrowParser();
         String doc = "<!DOCTYPE a [" + subset + "]><a/>";
         try {
             InputSource source = new InputSource(new StringReader(doc));
@@ -1383,10 +1400,45 @@ final class Verifier {
         catch (IOException ex) {
             throw new RuntimeException("BUG: I don't think this can happen");
         }
+        finally {
+            releaseParser(parser);
+        }
+        if (cacheable) subsets[slot] = subset;
         
     } 
     
     
+    private static XMLReader borrowParser() {
+        
+        synchronized (parsers) {
+            if (!parsers.isEmpty()) return parsers.remove(parsers.size() - 1);
+        }
+        
+        final InputSource empty = new InputSource(new EmptyReader());
+        XMLReader parser = Builder.findParser(false);
+        // Now let's stop this parser from loading any external
+        // entities the subset references
+        parser.setEntityResolver(new EntityResolver() {
+
+            public InputSource resolveEntity(String publicID, String systemID) {
+                return empty;
+            }   
+        
+        });
+        return parser;
+        
+    }
+    
+    
+    private static void releaseParser(XMLReader parser) {
+        
+        synchronized (parsers) {
+            if (parsers.size() < MAX_IDLE_PARSERS) parsers.add(parser);
+        }
+        
+    }
+    
+    
     // A reader that immediately returns end of stream. This is a great
     // big hack to avoid reading anything when setting the internal 
     // DTD subset. I could use the 
@@ -19,8 +19,17 @@
 */
 package nu.xom;
 
+import java.io.IOException;
+
 import org.apache.xerces.parsers.SAXParser;
 import org.apache.xerces.parsers.DTDConfiguration;
+import org.apache.xerces.xni.XNIException;
+import org.apache.xerces.xni.parser.XMLInputSource;
+import org.apache.xerces.xni.parser.XMLParseException;
+import org.apache.xerces.xni.parser.XMLPullParserConfiguration;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 
 /**
  * <p>
@@ -39,7 +48,7 @@ import org.apache.xerces.parsers.DTDConfiguration;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.2.2b2
+ * @version 1.5.0
  * 
  */
 class XML1_0Parser extends SAXParser {
@@ -47,5 +56,74 @@ class XML1_0Parser extends SAXParser {
     XML1_0Parser() {
         super(new DTDConfiguration());
     }
+    
+    
+    // The next three methods let the Builder parse a document a 
+    // piece at a time, which SAX can't do. Together they do what
+    // parse(InputSource) does.
+    void startParsing(InputSource in) {
+        
+        reset();
+        XMLInputSource source = new XMLInputSource(
+          in.getPublicId(), in.getSystemId(), null);
+        source.setByteStream(in.getByteStream());
+        source.setCharacterStream(in.getCharacterStream());
+        source.setEncoding(in.getEncoding());
+        try {
+            getConfiguration().setInputSource(source);
+        }
+        catch (IOException ex) {
+            // DTDConfiguration only remembers the source here.
+            // Nothing is read until the first call to parseSome.
+            throw new XMLException(ex.getMessage(), ex);
+        }
+        
+    }
+    
+    
+    // Parses at least the next piece of markup in the document,
+    // and returns false once the end of the document is reached.
+    // Xerces exceptions are converted the same way SAXParser does.
+    boolean parseSome() throws SAXException, IOException {
+        
+        try {
+            return getConfiguration().parse(false);
+        }
+        catch (XMLParseException ex) {
+            Exception cause = ex.getException();
+            if (cause == null) {
+                throw new SAXParseException(ex.getMessage(),
+                  ex.getPublicId(), ex.getExpandedSystemId(),
+                  ex.getLineNumber(), ex.getColumnNumber());
+            }
+            throw unwrap(cause);
+        }
+        catch (XNIException ex) {
+            Exception cause = ex.getException();
+            if (cause == null) throw new SAXException(ex.getMessage());
+            throw unwrap(cause);
+        }
+        
+    }
+    
+    
+    void cleanup() {
+        getConfiguration().cleanup();
+    }
+    
+    
+    private XMLPullParserConfiguration getConfiguration() {
+        return (XMLPullParserConfiguration) fConfiguration;
+    }
+    
+    
+    private static SAXException unwrap(Exception cause) 
+      throws IOException {
+        
+        if (cause instanceof SAXException) return (SAXException) cause;
+        if (cause instanceof IOException) throw (IOException) cause;
+        return new SAXException(cause);
+        
+    }
 
 }
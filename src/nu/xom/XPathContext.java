@@ -139,6 +139,17 @@ public final class XPathContext {
     }
     
     
+    // Compiled expressions keep their own copy so later 
+    // changes to this context don't affect them
+    XPathContext copy() {
+        
+        XPathContext copy = new XPathContext();
+        copy.namespaces = new HashMap<String, String>(namespaces);
+        return copy;
+        
+    }
+    
+    
     NamespaceContext getJaxenContext() {
         return new JaxenNamespaceContext();
     }
@@ -0,0 +1,300 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jaxen.JaxenException;
+import org.jaxen.NamespaceContext;
+import org.jaxen.UnresolvableException;
+import org.jaxen.VariableContext;
+
+/**
+ * <p>
+ *   An XPath 1.0 expression that has been parsed once and
+ *   can be evaluated any number of times against different
+ *   context nodes. The namespace bindings are fixed when the
+ *   expression is compiled. Variables can be bound separately
+ *   for each evaluation.
+ * </p>
+ *
+ * <p>
+ *   <code>XPathExpression</code> objects are immutable and
+ *   thread-safe. The same object can be evaluated concurrently
+ *   from many threads, provided the trees it is evaluated against
+ *   are not modified while the queries run.
+ * </p>
+ *
+ * <pre><code>  XPathContext context = new XPathContext("a", "http://www.example.com/");
+ *   XPathExpression xpath = XPathExpression.compile("//a:item[@id=$id]", context);
+ *   Map&lt;String, Object&gt; variables = new HashMap&lt;String, Object&gt;();
+ *   variables.put("id", "p1");
+ *   Nodes result = xpath.evaluate(doc, variables);</code></pre>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ * @see Node#query(String, XPathContext)
+ *
+ */
+public final class XPathExpression {
+
+
+    private final String xpath;
+    private final JaxenConnector connector;
+    private final NamespaceContext namespaces;
+
+
+    private XPathExpression(String xpath, JaxenConnector connector,
+      NamespaceContext namespaces) {
+        this.xpath = xpath;
+        this.connector = connector;
+        this.namespaces = namespaces;
+    }
+
+
+    /**
+     * <p>
+     * Compiles an XPath expression that does not use any
+     * namespace prefixes.
+     * </p>
+     *
+     * @param xpath the XPath expression to compile
+     *
+     * @return the compiled expression
+     *
+     * @throws XPathException if there's a syntax error in the
+     *     expression
+     * @throws NullPointerException if <code>xpath</code> is null
+     */
+    public static XPathExpression compile(String xpath) {
+        return compile(xpath, null);
+    }
+
+
+    /**
+     * <p>
+     * Compiles an XPath expression whose namespace prefixes are
+     * bound in the specified context. The bindings are copied;
+     * later changes to <code>namespaces</code> do not affect the
+     * compiled expression.
+     * </p>
+     *
+     * @param xpath the XPath expression to compile
+     * @param namespaces a collection of namespace prefix bindings
+     *     used in the XPath expression; may be null
+     *
+     * @return the compiled expression
+     *
+     * @throws XPathException if there's a syntax error in the
+     *     expression
+     * @throws NullPointerException if <code>xpath</code> is null
+     */
+    public static XPathExpression compile(String xpath,
+      XPathContext namespaces) {
+
+        if (xpath == null) {
+            throw new NullPointerException("Null XPath expression");
+        }
+        NamespaceContext context = null;
+        if (namespaces != null) {
+            context = namespaces.copy().getJaxenContext();
+        }
+        try {
+            return new XPathExpression(xpath,
+              JaxenConnector.getConnector(xpath), context);
+        }
+        catch (JaxenException ex) {
+            XPathException xpe = new XPathException(
+              "XPath error: " + ex.getMessage(), ex);
+            xpe.setXPath(xpath);
+            throw xpe;
+        }
+
+    }
+
+
+    /**
+     * <p>
+     * Returns the nodes this expression selects in the context
+     * of the specified node, in document order. No variables are
+     * bound. This behaves exactly like
+     * {@link Node#query(String, XPathContext)}
+     * except that the expression is not parsed again.
+     * </p>
+     *
+     * @param context the context node
+     *
+     * @return a list of all matched nodes; possibly empty
+     *
+     * @throws XPathException if the expression returns something
+     *     other than a node-set, uses an unbound variable,
+     *     or the context node is a <code>DocType</code>
+     */
+    public Nodes evaluate(Node context) {
+        return context.query(xpath, connector, namespaces, null);
+    }
+
+
+    /**
+     * <p>
+     * Returns the nodes this expression selects in the context
+     * of the specified node, in document order, with the given
+     * variables bound. The keys are the variable names as they
+     * appear in the expression, without the initial dollar sign,
+     * and including the prefix if any. Values may be
+     * <code>String</code>, <code>Number</code>,
+     * <code>Boolean</code>, <code>Node</code>, or
+     * <code>Nodes</code> objects. A <code>Node</code> is bound as
+     * a node-set containing just that node.
+     * </p>
+     *
+     * @param context the context node
+     * @param variables the variable bindings; may be null
+     *
+     * @return a list of all matched nodes; possibly empty
+     *
+     * @throws XPathException if the expression returns something
+     *     other than a node-set, uses an unbound variable,
+     *     or the context node is a <code>DocType</code>
+     * @throws IllegalArgumentException if a variable's value
+     *     is not one of the supported types
+     */
+    public Nodes evaluate(Node context, Map<String, ?> variables) {
+
+        VariableContext bindings = null;
+        if (variables != null) bindings = new BoundVariables(variables);
+        return context.query(xpath, connector, namespaces, bindings);
+
+    }
+
+
+    /**
+     * <p>
+     * Returns the XPath expression this object was compiled from.
+     * </p>
+     *
+     * @return the XPath expression
+     */
+    public String getXPath() {
+        return xpath;
+    }
+
+
+    /**
+     * <p>
+     * Returns a string form of this <code>XPathExpression</code>
+     * suitable for debugging and diagnosis.
+     * </p>
+     *
+     * @return a non-XML string representation of this expression
+     */
+    public String toString() {
+        return "[" + getClass().getName() + ": " + xpath + "]";
+    }
+
+
+    private static class BoundVariables implements VariableContext {
+
+        private final Map<String, Object> values;
+
+
+        BoundVariables(Map<String, ?> variables) {
+
+            values = new HashMap<String, Object>(variables.size());
+            for (Map.Entry<String, ?> entry : variables.entrySet()) {
+                values.put(entry.getKey(),
+                  toXPathValue(entry.getKey(), entry.getValue()));
+            }
+
+        }
+
+
+        // Jaxen represents numbers as Doubles and
+        // node-sets as lists
+        private static Object toXPathValue(String name, Object value) {
+
+            if (value instanceof String || value instanceof Boolean) {
+                return value;
+            }
+            else if (value instanceof Double) {
+                return value;
+            }
+            else if (value instanceof Number) {
+                return new Double(((Number) value).doubleValue());
+            }
+            else if (value instanceof Node) {
+                return Collections.singletonList(toNavigatorNode((Node) value));
+            }
+            else if (value instanceof Nodes) {
+                Nodes nodes = (Nodes) value;
+                List<Object> list = new ArrayList<Object>(nodes.size());
+                for (int i = 0; i < nodes.size(); i++) {
+                    list.add(toNavigatorNode(nodes.get(i)));
+                }
+                return list;
+            }
+            throw new IllegalArgumentException("Variable $" + name
+              + " has unsupported type "
+              + (value == null ? "null" : value.getClass().getName()));
+
+        }
+
+
+        // JaxenNavigator represents a text node as an ArrayList 
+        // of adjacent Text objects
+        private static Object toNavigatorNode(Node node) {
+            
+            if (node.isText()) {
+                List<Node> texts = new ArrayList<Node>(1);
+                texts.add(node);
+                return texts;
+            }
+            return node;
+            
+        }
+
+
+        public Object getVariableValue(String namespaceURI,
+          String prefix, String localName)
+          throws UnresolvableException {
+
+            String name = localName;
+            if (prefix != null && prefix.length() > 0) {
+                name = prefix + ":" + localName;
+            }
+            Object value = values.get(name);
+            if (value == null) {
+                throw new UnresolvableException(
+                  "Variable $" + name + " is not bound");
+            }
+            return value;
+
+        }
+
+    }
+
+
+}
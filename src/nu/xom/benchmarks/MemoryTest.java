@@ -27,6 +27,7 @@ import nu.xom.Attribute;
 import nu.xom.Builder;
 import nu.xom.Document;
 import nu.xom.Element;
+import nu.xom.MemoryUsage;
 import nu.xom.ParsingException;
 
 /**
@@ -37,7 +38,7 @@ import nu.xom.ParsingException;
  * 
  * 
  * @author Elliotte Rusty Harold
- * @version 1.0
+ * @version 1.5.0
  *
  */
 class MemoryTest {
@@ -113,10 +114,26 @@ class MemoryTest {
         usage = (postGC - before)/(1024.0*1024.0);
         System.out.println("Memory used after garbage collection: " 
           + format.format(usage) + "M");
+        
+        MemoryUsage estimate = new MemoryUsage(doc);
+        print(format, "Estimated size", estimate.getTotalBytes());
+        print(format, "  nodes", estimate.getNodeBytes());
+        print(format, "  child arrays", estimate.getChildArrayBytes());
+        print(format, "  attribute arrays", estimate.getAttributeArrayBytes());
+        print(format, "  text", estimate.getTextBytes());
+        print(format, "  strings", estimate.getStringBytes());
+        print(format, "  namespaces", estimate.getNamespaceBytes());
+        print(format, "  caches", estimate.getCacheBytes());
        
         // Make sure the document isn't prematurely garbage collected
         System.out.println("Meaningless number: " 
           + doc.toXML().length());
     }
 
+    
+    private static void print(DecimalFormat format, String label, long bytes) {
+        System.out.println(label + ": " 
+          + format.format(bytes/(1024.0*1024.0)) + "M");
+    }
+    
 }
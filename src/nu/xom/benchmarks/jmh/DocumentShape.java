@@ -0,0 +1,202 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.benchmarks.jmh;
+
+import nu.xom.XPathContext;
+
+/**
+ * <p>
+ *  The synthetic document shapes the JMH benchmarks run against.
+ *  Each shape stresses a different part of the tree:
+ *  many siblings, deep nesting, many attributes per element,
+ *  many namespace declarations and prefixed names, and long
+ *  text nodes full of characters that need escaping.
+ * </p>
+ *
+ * <p>
+ *  Every shape also supplies an XPath expression that selects
+ *  a representative subset of its nodes so that query
+ *  benchmarks do comparable work across shapes.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public enum DocumentShape {
+
+    FLAT {
+
+        void appendBody(StringBuilder sb, int size) {
+            sb.append("<root>");
+            for (int i = 0; i < size; i++) {
+                sb.append("<item id=\"i").append(i).append("\">");
+                sb.append("value ").append(i);
+                sb.append("</item>");
+            }
+            sb.append("</root>");
+        }
+
+        String getQuery() {
+            return "/root/item[@id='i" + (SIZE / 2) + "']";
+        }
+
+    },
+
+    DEEP {
+
+        void appendBody(StringBuilder sb, int size) {
+            for (int i = 0; i < size; i++) {
+                sb.append("<level depth=\"").append(i).append("\">");
+                sb.append("text ").append(i);
+            }
+            for (int i = 0; i < size; i++) {
+                sb.append("</level>");
+            }
+        }
+
+        String getQuery() {
+            return "//level[@depth mod 100 = 0]";
+        }
+
+    },
+
+    WIDE_ATTRIBUTE {
+
+        void appendBody(StringBuilder sb, int size) {
+            sb.append("<root>");
+            int records = size / ATTRIBUTES_PER_ELEMENT;
+            for (int i = 0; i < records; i++) {
+                sb.append("<record");
+                for (int a = 0; a < ATTRIBUTES_PER_ELEMENT; a++) {
+                    sb.append(" a").append(a).append("=\"v").append(i);
+                    sb.append('-').append(a).append('"');
+                }
+                sb.append("/>");
+            }
+            sb.append("</root>");
+        }
+
+        String getQuery() {
+            return "/root/record[@a" + (ATTRIBUTES_PER_ELEMENT - 1) + "]";
+        }
+
+    },
+
+    NAMESPACE_HEAVY {
+
+        void appendBody(StringBuilder sb, int size) {
+            sb.append("<p0:root");
+            for (int n = 0; n < NAMESPACES; n++) {
+                sb.append(" xmlns:p").append(n).append("=\"");
+                sb.append(NAMESPACE_BASE).append(n).append('"');
+            }
+            sb.append('>');
+            for (int i = 0; i < size; i++) {
+                int n = i % NAMESPACES;
+                sb.append("<p").append(n).append(":item p");
+                sb.append((n+1) % NAMESPACES).append(":att=\"").append(i);
+                sb.append("\" xmlns:local").append(i).append("=\"");
+                sb.append(NAMESPACE_BASE).append("local/").append(i).append("\">");
+                sb.append("value ").append(i);
+                sb.append("</p").append(n).append(":item>");
+            }
+            sb.append("</p0:root>");
+        }
+
+        String getQuery() {
+            return "/p0:root/p1:item[@p2:att]";
+        }
+
+        XPathContext getContext() {
+            XPathContext context = new XPathContext();
+            for (int n = 0; n < NAMESPACES; n++) {
+                context.addNamespace("p" + n, NAMESPACE_BASE + n);
+            }
+            return context;
+        }
+
+    },
+
+    TEXT_HEAVY {
+
+        void appendBody(StringBuilder sb, int size) {
+            sb.append("<root>");
+            int paragraphs = size / 10;
+            for (int i = 0; i < paragraphs; i++) {
+                sb.append("<para>");
+                for (int j = 0; j < 10; j++) {
+                    sb.append("Sentence ").append(j);
+                    sb.append(" has &lt;markup&gt; &amp; \"quotes\" in it,\n");
+                    sb.append(" plus some non-ASCII text: été, ");
+                    sb.append("Ελληνικά, ");
+                    sb.append("日本語. ");
+                }
+                sb.append("</para>");
+            }
+            sb.append("</root>");
+        }
+
+        String getQuery() {
+            return "//para[contains(., 'Sentence 9')]";
+        }
+
+    };
+
+
+    /**
+     * The approximate number of element nodes each shape creates.
+     */
+    static final int SIZE = 1000;
+
+    private static final int ATTRIBUTES_PER_ELEMENT = 20;
+    private static final int NAMESPACES = 16;
+    private static final String NAMESPACE_BASE = "http://www.example.org/ns/";
+
+
+    abstract void appendBody(StringBuilder sb, int size);
+
+    abstract String getQuery();
+
+
+    XPathContext getContext() {
+        return null;
+    }
+
+
+    /**
+     * <p>
+     * Returns the serialized form of this shape, including
+     * an XML declaration.
+     * </p>
+     *
+     * @return a well-formed XML document
+     */
+    String toXML() {
+        StringBuilder sb = new StringBuilder(SIZE * 64);
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        appendBody(sb, SIZE);
+        sb.append('\n');
+        return sb.toString();
+    }
+
+
+}
@@ -0,0 +1,153 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.benchmarks.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import nu.xom.Attribute;
+import nu.xom.Element;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ *  Measures how creating namespaced elements and attributes
+ *  scales with the number of threads. Every namespace URI is
+ *  verified, and all threads share the cache of URIs that have
+ *  already been verified, so any contention there shows up as
+ *  throughput that stops growing with more threads.
+ *  The same benchmark runs on one thread, four threads, and one
+ *  thread per core. The <code>namespaces</code> parameter sets
+ *  how many distinct URIs cycle through the cache.
+ * </p>
+ *
+ * <p>
+ *  Run just these with <code>-Djmh.args="NamespaceBenchmark"</code>.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamespaceBenchmark {
+
+    @Param({"4", "16", "64"})
+    public int namespaces;
+
+    private String[] uris;
+    private String[] elementNames;
+    private String[] attributeNames;
+
+
+    @Setup
+    public void setUp() {
+
+        uris = new String[namespaces];
+        elementNames = new String[namespaces];
+        attributeNames = new String[namespaces];
+        for (int i = 0; i < namespaces; i++) {
+            // new strings, as a parser would produce,
+            // rather than interned constants
+            uris[i] = new String("http://www.example.org/namespaces/" + i);
+            elementNames[i] = "e" + i + ":element";
+            attributeNames[i] = "a" + i + ":attribute";
+        }
+
+    }
+
+
+    private Element create() {
+
+        Element result = null;
+        for (int i = 0; i < namespaces; i++) {
+            Element element = new Element(elementNames[i], uris[i]);
+            element.addAttribute(
+              new Attribute(attributeNames[i], uris[i], "value"));
+            if (result == null) result = element;
+        }
+        return result;
+
+    }
+
+
+    @Benchmark
+    @Threads(1)
+    public Element oneThread() {
+        return create();
+    }
+
+
+    @Benchmark
+    @Threads(4)
+    public Element fourThreads() {
+        return create();
+    }
+
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Element allCores() {
+        return create();
+    }
+
+
+    /**
+     * <p>
+     * Runs every benchmark in this class.
+     * This is a convenience for running from an IDE; the
+     * <code>jmh</code> Ant target is the usual entry point.
+     * </p>
+     *
+     * @param args ignored
+     * @throws RunnerException if JMH fails
+     */
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+          .include(NamespaceBenchmark.class.getSimpleName())
+          .build();
+        new Runner(options).run();
+
+    }
+
+
+}
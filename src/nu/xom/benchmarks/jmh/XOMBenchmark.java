@@ -0,0 +1,195 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.benchmarks.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import nu.xom.Attribute;
+import nu.xom.Builder;
+import nu.xom.Document;
+import nu.xom.Element;
+import nu.xom.Nodes;
+import nu.xom.ParsingException;
+import nu.xom.Serializer;
+import nu.xom.XPathExpression;
+import nu.xom.canonical.Canonicalizer;
+import nu.xom.xinclude.XIncludeException;
+import nu.xom.xinclude.XIncluder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ *  JMH benchmarks for the core XOM operations: parsing,
+ *  XPath queries, deep copies, serialization,
+ *  canonicalization, and XInclude resolution. Each benchmark
+ *  runs once for every {@link DocumentShape}.
+ * </p>
+ *
+ * <p>
+ *  These are built and run by the <code>jmh</code> Ant target,
+ *  which attaches the GC profiler so that allocation rates
+ *  (<code>gc.alloc.rate.norm</code>, bytes per operation)
+ *  are reported next to the timings. Extra JMH options
+ *  can be passed with <code>-Djmh.args="..."</code>;
+ *  for example <code>-Djmh.args="-p shape=FLAT copy"</code>.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XOMBenchmark {
+
+    @Param({"FLAT", "DEEP", "WIDE_ATTRIBUTE", "NAMESPACE_HEAVY", "TEXT_HEAVY"})
+    public DocumentShape shape;
+
+    private byte[] data;
+    private Builder builder;
+    private Document document;
+    private XPathExpression compiledQuery;
+    private Document xincludeDocument;
+    private ByteArrayOutputStream out;
+
+
+    @Setup
+    public void setUp() throws IOException, ParsingException {
+
+        data = shape.toXML().getBytes("UTF-8");
+        builder = new Builder();
+        document = builder.build(new ByteArrayInputStream(data));
+        out = new ByteArrayOutputStream(data.length * 2);
+        compiledQuery = XPathExpression.compile(
+          shape.getQuery(), shape.getContext());
+
+        // The shape's root is wrapped in an element with an xml:id
+        // and included back into the same document by a
+        // shorthand XPointer, so resolution never touches the
+        // network or the file system.
+        Element wrapper = new Element("source");
+        wrapper.addAttribute(new Attribute("xml:id",
+          "http://www.w3.org/XML/1998/namespace", "source"));
+        wrapper.appendChild(document.getRootElement().copy());
+        Element include = new Element("xi:include", XIncluder.XINCLUDE_NS);
+        include.addAttribute(new Attribute("xpointer", "source"));
+        Element root = new Element("bench");
+        root.appendChild(wrapper);
+        root.appendChild(include);
+        xincludeDocument = new Document(root);
+
+    }
+
+
+    @Benchmark
+    public Document build() throws IOException, ParsingException {
+        return builder.build(new ByteArrayInputStream(data));
+    }
+
+
+    @Benchmark
+    public Nodes query() {
+        return document.query(shape.getQuery(), shape.getContext());
+    }
+
+
+    @Benchmark
+    public Nodes compiledQuery() {
+        return compiledQuery.evaluate(document);
+    }
+
+
+    @Benchmark
+    public Element copy() {
+        return document.getRootElement().copy();
+    }
+
+
+    @Benchmark
+    public int serialize() throws IOException {
+        out.reset();
+        Serializer serializer = new Serializer(out, "UTF-8");
+        serializer.write(document);
+        return out.size();
+    }
+
+
+    @Benchmark
+    public int canonicalize() throws IOException {
+        out.reset();
+        Canonicalizer canonicalizer = new Canonicalizer(out);
+        canonicalizer.write(document);
+        return out.size();
+    }
+
+
+    @Benchmark
+    public Document xinclude()
+      throws IOException, ParsingException, XIncludeException {
+        return XIncluder.resolve(xincludeDocument);
+    }
+
+
+    /**
+     * <p>
+     * Runs every benchmark in this class with the GC profiler.
+     * This is a convenience for running from an IDE; the
+     * <code>jmh</code> Ant target is the usual entry point.
+     * </p>
+     *
+     * @param args ignored
+     * @throws RunnerException if JMH fails
+     */
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+          .include(XOMBenchmark.class.getSimpleName())
+          .addProfiler(GCProfiler.class)
+          .build();
+        new Runner(options).run();
+
+    }
+
+
+}
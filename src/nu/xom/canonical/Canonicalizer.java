@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -41,6 +42,7 @@ import nu.xom.Attribute;
 import nu.xom.Comment;
 import nu.xom.DocType;
 import nu.xom.Document;
+import nu.xom.DocumentOrder;
 import nu.xom.Element;
 import nu.xom.Namespace;
 import nu.xom.Node;
@@ -61,7 +63,7 @@ import nu.xom.XPathContext;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.1
+ * @version 1.5.0
  *
  */
 public class Canonicalizer {
@@ -1062,33 +1064,25 @@ public class Canonicalizer {
     }   
 
     
-    // XXX remove recursion
-    // recursively descend through document; in document
-    // order, and add results as they are found
+    // removes duplicates and sorts into document order
     private Nodes sort(Nodes in) {
 
         Node root = in.get(0).getDocument();
         if (in.size() > 1) {
-            Nodes out = new Nodes();
+            Set<Node> seen = new HashSet<Node>(in.size());
             List<Node> list = new ArrayList<Node>(in.size());
-            List<Node> namespaces = new ArrayList<Node>();
             for (int i = 0; i < in.size(); i++) {
                 Node node = in.get(i);
-                list.add(node);
-                if (node instanceof Namespace) namespaces.add(node);
-            }
-            sort(list, namespaces, out, (ParentNode) root);
-            if (! list.isEmpty() ) {
-                // Are these just duplicates; or is there really a node
-                // from a different document?
-                Iterator<Node> iterator = list.iterator();
-                while (iterator.hasNext()) {
-                    Node next = iterator.next();
-                    if (root != next.getDocument()) {
-                        throw new CanonicalizationException(
-                          "Cannot canonicalize subsets that contain nodes from more than one document");
-                    }
+                if (root != node.getDocument()) {
+                    throw new CanonicalizationException(
+                      "Cannot canonicalize subsets that contain nodes from more than one document");
                 }
+                if (seen.add(node)) list.add(node);
+            }
+            Collections.sort(list, new DocumentOrder());
+            Nodes out = new Nodes();
+            for (int i = 0; i < list.size(); i++) {
+                out.append(list.get(i));
             }
             return out;
         }
@@ -1108,64 +1102,6 @@ public class Canonicalizer {
         //return parent + child;
         return URIJoiner.absolutize(parent, child);
     }
-
-
-    private static void sort(List<Node> in, List<Node> namespaces, Nodes out, ParentNode parent) {
-
-        if (in.isEmpty()) return;
-        if (in.contains(parent)) {
-            out.append(parent);
-            in.remove(parent);
-            // I'm fairly sure this next line is unreachable, but just
-            // in case it isn't I'll leave this comment here.
-            // if (in.isEmpty()) return;
-        }
-        
-        int childCount = parent.getChildCount();
-        for (int i = 0; i < childCount; i++) {
-            Node child = parent.getChild(i);
-            if (child instanceof Element) {
-                Element element = (Element) child;
-                if (in.contains(element)) {
-                    out.append(element);
-                    in.remove(element);
-                }
-                // attach namespaces
-                if (!namespaces.isEmpty()) {
-                    Iterator<Node> iterator = in.iterator();
-                    while (iterator.hasNext()) {
-                        Object o = iterator.next();
-                        if (o instanceof Namespace) {
-                            Namespace n = (Namespace) o;
-                            if (element == n.getParent()) {
-                                out.append(n);
-                                iterator.remove();
-                            }
-                        }
-                    }
-                }
-                
-                // attach attributes
-                for (int a = 0; a < element.getAttributeCount(); a++) {
-                    Attribute att = element.getAttribute(a);
-                    if (in.contains(att)) {
-                        out.append(att);
-                        in.remove(att);
-                        if (in.isEmpty()) return;
-                    }
-                }
-                sort(in, namespaces, out, element);
-            }
-            else {
-                if (in.contains(child)) {
-                    out.append(child);
-                    in.remove(child);
-                    if (in.isEmpty()) return;
-                }
-            }
-        }
-        
-    }
  
     
 }
\ No newline at end of file
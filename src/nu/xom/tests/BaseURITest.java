@@ -50,7 +50,7 @@ import nu.xom.Text;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.9
+ * @version 1.5.0
  *
  */
 public class BaseURITest extends XOMTestCase {
@@ -1311,4 +1311,121 @@ public class BaseURITest extends XOMTestCase {
     }
     
     
-}
\ No newline at end of file
+    public void testCachedBaseURIFollowsChanges() {
+    
+        Element root = doc.getRootElement();
+        Element child3 = (Element) root.getChild(2);
+        Element grandchild = new Element("grandchild");
+        Element leaf = new Element("leaf");
+        child3.appendChild(grandchild);
+        grandchild.appendChild(leaf);
+        Text text = new Text("text");
+        leaf.appendChild(text);
+        assertEquals(base2, text.getBaseURI());
+        assertEquals(base2, grandchild.getBaseURI());
+        
+        Attribute base = child3.getAttribute("base", Namespace.XML_NAMESPACE);
+        base.setValue("http://www.base4.com/");
+        assertEquals("http://www.base4.com/", leaf.getBaseURI());
+        
+        grandchild.addAttribute(new Attribute("xml:base", 
+          Namespace.XML_NAMESPACE, "dir/"));
+        assertEquals("http://www.base4.com/dir/", leaf.getBaseURI());
+        assertEquals("http://www.base4.com/", child3.getBaseURI());
+        
+        child3.removeAttribute(base);
+        assertEquals(base1 + "dir/", leaf.getBaseURI());
+        assertEquals(base1, child3.getBaseURI());
+        
+        doc.setBaseURI("http://www.example.org/");
+        assertEquals("http://www.example.org/dir/", text.getBaseURI());
+        
+        // The leaf's own entity is still the document's.
+        leaf.getBaseURI();
+        grandchild.setBaseURI("http://www.example.net/");
+        assertEquals("http://www.example.net/dir/", grandchild.getBaseURI());
+        assertEquals("http://www.example.org/dir/", leaf.getBaseURI());
+        
+        grandchild.getAttribute("base", Namespace.XML_NAMESPACE)
+          .setNamespace(null, "");
+        assertEquals("http://www.example.net/", grandchild.getBaseURI());
+        assertEquals("http://www.example.org/", leaf.getBaseURI());
+        
+    }
+    
+    
+    public void testCachedBaseURIFollowsMoves() {
+    
+        Element root = doc.getRootElement();
+        Element child3 = (Element) root.getChild(2);
+        Element subtree = new Element("subtree");
+        subtree.addAttribute(new Attribute("xml:base", 
+          Namespace.XML_NAMESPACE, "dir/"));
+        Element leaf = new Element("leaf");
+        subtree.appendChild(leaf);
+        assertEquals("", leaf.getBaseURI());
+        
+        child3.appendChild(subtree);
+        assertEquals(base2 + "dir/", leaf.getBaseURI());
+        
+        Element wrapper = new Element("wrapper");
+        wrapper.addAttribute(new Attribute("xml:base", 
+          Namespace.XML_NAMESPACE, "http://www.example.org/"));
+        subtree.detach();
+        wrapper.appendChild(subtree);
+        assertEquals("http://www.example.org/dir/", leaf.getBaseURI());
+        
+        // moving the root of the tree where the base URIs were cached
+        Document other = new Document(wrapper);
+        other.setRootElement(new Element("new"));
+        Element outer = new Element("outer");
+        outer.addAttribute(new Attribute("xml:base", 
+          Namespace.XML_NAMESPACE, "http://www.example.com/"));
+        wrapper.removeAttribute(wrapper.getAttribute(0));
+        outer.appendChild(wrapper);
+        assertEquals("http://www.example.com/dir/", leaf.getBaseURI());
+        
+        root.removeChild(child3);
+        assertEquals(base2, child3.getBaseURI());
+        
+    }
+    
+    
+    public void testBaseURIOfDeepDocument() {
+    
+        Element root = doc.getRootElement();
+        Element parent = root;
+        for (int i = 0; i < 10000; i++) {
+            Element child = new Element("e");
+            parent.appendChild(child);
+            parent = child;
+        }
+        assertEquals(base1, parent.getBaseURI());
+        root.addAttribute(new Attribute("xml:base", 
+          Namespace.XML_NAMESPACE, "dir/"));
+        assertEquals(base1 + "dir/", parent.getBaseURI());
+        assertEquals(base1 + "dir/", parent.getParent().getBaseURI());
+        
+    }
+    
+    
+    public void testStaleBaseURIOfAncestorDiscarded() {
+    
+        Element root = new Element("root");
+        Document document = new Document(root);
+        document.setBaseURI("http://www.example.com/");
+        Element child = new Element("child");
+        child.addAttribute(new Attribute("xml:base", 
+          Namespace.XML_NAMESPACE, "dir/"));
+        root.appendChild(child);
+        assertEquals("http://www.example.com/", root.getBaseURI());
+        
+        document.setBaseURI("http://www.example.org/");
+        // starts a new epoch at the root element
+        assertEquals("http://www.example.org/dir/", child.getBaseURI());
+        assertEquals("http://www.example.org/", root.getBaseURI());
+        
+    }
+    
+    
+}
@@ -0,0 +1,287 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.tests;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import nu.xom.Builder;
+import nu.xom.BuilderPool;
+import nu.xom.Document;
+import nu.xom.Element;
+import nu.xom.NodeFactory;
+import nu.xom.ParsingException;
+import nu.xom.ValidityException;
+
+/**
+ * <p>
+ * Unit tests for the <code>BuilderPool</code> class.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public class BuilderPoolTest extends XOMTestCase {
+
+
+    public BuilderPoolTest(String name) {
+        super(name);
+    }
+
+
+    public void testBuild() throws ParsingException, IOException {
+
+        BuilderPool pool = new BuilderPool(2);
+        Document doc = pool.build(new StringReader("<root/>"), null);
+        assertEquals("root", doc.getRootElement().getQualifiedName());
+        doc = pool.build(new StringReader("<test/>"),
+          "http://www.example.org/");
+        assertEquals("test", doc.getRootElement().getQualifiedName());
+        assertEquals("http://www.example.org/", doc.getBaseURI());
+
+        assertEquals(1, pool.getSize());
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(1, pool.getMisses());
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.getWaits());
+
+    }
+
+
+    public void testBorrowAndRelease() throws InterruptedException {
+
+        BuilderPool pool = new BuilderPool(2);
+        Builder first = pool.borrow();
+        Builder second = pool.borrow();
+        assertNotSame(first, second);
+        assertEquals(2, pool.getSize());
+        assertEquals(0, pool.getIdleCount());
+
+        pool.release(first);
+        assertEquals(1, pool.getIdleCount());
+        assertSame(first, pool.borrow());
+        assertEquals(1, pool.getHits());
+        assertEquals(2, pool.getMisses());
+        pool.release(first);
+        pool.release(second);
+        assertEquals(2, pool.getIdleCount());
+
+    }
+
+
+    public void testReleaseTwice() throws InterruptedException {
+
+        BuilderPool pool = new BuilderPool(1);
+        Builder builder = pool.borrow();
+        pool.release(builder);
+        try {
+            pool.release(builder);
+            fail("Released builder twice");
+        }
+        catch (IllegalArgumentException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testReleaseForeignBuilder() {
+
+        BuilderPool pool = new BuilderPool(1);
+        try {
+            pool.release(new Builder());
+            fail("Released builder from outside the pool");
+        }
+        catch (IllegalArgumentException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testReleaseNull() {
+
+        BuilderPool pool = new BuilderPool(1);
+        try {
+            pool.release(null);
+            fail("Released null");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testCapacityMustBePositive() {
+
+        try {
+            new BuilderPool(0);
+            fail("Allowed empty pool");
+        }
+        catch (IllegalArgumentException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testWaitForBuilder() throws InterruptedException {
+
+        final BuilderPool pool = new BuilderPool(1);
+        final Builder builder = pool.borrow();
+        final List<Builder> result
+          = Collections.synchronizedList(new ArrayList<Builder>());
+
+        Thread waiter = new Thread() {
+            public void run() {
+                try {
+                    result.add(pool.borrow());
+                }
+                catch (InterruptedException ex) {
+                    // test will fail
+                }
+            }
+        };
+        waiter.start();
+        while (pool.getWaits() == 0) Thread.sleep(1);
+        assertTrue(result.isEmpty());
+
+        pool.release(builder);
+        waiter.join();
+        assertEquals(1, result.size());
+        assertSame(builder, result.get(0));
+        assertEquals(1, pool.getSize());
+        assertEquals(1, pool.getWaits());
+
+    }
+
+
+    public void testInterruptedWhileWaiting()
+      throws InterruptedException, ParsingException {
+
+        BuilderPool pool = new BuilderPool(1);
+        Builder builder = pool.borrow();
+        Thread.currentThread().interrupt();
+        try {
+            pool.build(new StringReader("<root/>"), null);
+            fail("Didn't notice interruption");
+        }
+        catch (IOException success) {
+            assertTrue(success instanceof InterruptedIOException);
+            assertTrue(Thread.interrupted());
+        }
+        pool.release(builder);
+
+    }
+
+
+    public void testBuildersAreReusedAfterErrors()
+      throws ParsingException, IOException {
+
+        BuilderPool pool = new BuilderPool(1, true, null);
+        String invalid = "<!DOCTYPE root [<!ELEMENT root EMPTY>]><root>text</root>";
+        try {
+            pool.build(new StringReader(invalid), null);
+            fail("Didn't validate");
+        }
+        catch (ValidityException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            pool.build(new StringReader("<root>"), null);
+            fail("Allowed malformed document");
+        }
+        catch (ParsingException success) {
+            assertNotNull(success.getMessage());
+        }
+
+        String valid = "<!DOCTYPE root [<!ELEMENT root EMPTY>]><root/>";
+        Document doc = pool.build(new StringReader(valid), null);
+        assertEquals("root", doc.getRootElement().getQualifiedName());
+        assertEquals(1, pool.getSize());
+
+    }
+
+
+    public void testFactory() throws ParsingException, IOException {
+
+        NodeFactory factory = new NodeFactory() {
+            public Element startMakingElement(String name, String namespace) {
+                return super.startMakingElement("pooled", namespace);
+            }
+        };
+        BuilderPool pool = new BuilderPool(1, false, factory);
+        Document doc = pool.build(new StringReader("<root><a/></root>"), null);
+        assertNotNull(doc.getRootElement().getFirstChildElement("pooled"));
+
+    }
+
+
+    public void testConcurrentBuilds() throws InterruptedException {
+
+        final BuilderPool pool = new BuilderPool(3);
+        final List<Throwable> failures
+          = Collections.synchronizedList(new ArrayList<Throwable>());
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            final int id = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < 50; j++) {
+                            String data = "<root id='" + id + "'>" + j + "</root>";
+                            Document doc = pool.build(new StringReader(data), null);
+                            Element root = doc.getRootElement();
+                            assertEquals(String.valueOf(id),
+                              root.getAttributeValue("id"));
+                            assertEquals(String.valueOf(j), root.getValue());
+                        }
+                    }
+                    catch (Throwable ex) {
+                        failures.add(ex);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) threads[i].join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertTrue(pool.getSize() <= 3);
+        assertEquals(400, pool.getHits() + pool.getMisses());
+        assertEquals(pool.getSize(), pool.getIdleCount());
+
+    }
+
+
+    public void testToString() {
+        BuilderPool pool = new BuilderPool(4);
+        assertTrue(pool.toString().startsWith("[nu.xom.BuilderPool: "));
+    }
+
+
+}
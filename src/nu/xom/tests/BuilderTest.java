@@ -33,6 +33,8 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.io.UTFDataFormatException;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
@@ -40,6 +42,10 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 
 import org.apache.xerces.parsers.SAXParser;
 import org.xml.sax.Attributes;
@@ -80,7 +86,7 @@ import nu.xom.XMLException;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.2.11
+ * @version 1.5.0
  *
  */
 public class BuilderTest extends XOMTestCase {
@@ -304,6 +310,44 @@ public class BuilderTest extends XOMTestCase {
     }    
 
 
+    public void testBuildLongTextInChunks() 
+      throws ParsingException, IOException {
+        
+        // long enough that the parser reports it in several chunks,
+        // some of which split surrogate pairs
+        StringBuilder expected = new StringBuilder();
+        StringBuilder data = new StringBuilder("<root>");
+        String[] pieces = {"a", "\u00E9", "\u4E2D", "\uD834\uDD1E", "&amp;", " "};
+        String[] values = {"a", "\u00E9", "\u4E2D", "\uD834\uDD1E", "&", " "};
+        for (int i = 0; i < 40000; i++) {
+            int piece = (i * 7 + i / 13) % pieces.length;
+            data.append(pieces[piece]);
+            expected.append(values[piece]);
+        }
+        data.append("</root>");
+        
+        Builder builder = new Builder();
+        Document doc = builder.build(data.toString(), null);
+        Element root = doc.getRootElement();
+        assertEquals(1, root.getChildCount());
+        assertEquals(expected.toString(), root.getValue());
+        
+        // the same document built with the verifying handler
+        Document verified = new Builder(new NodeFactory() {}).build(data.toString(), null);
+        assertEquals(verified, doc);
+        
+        // the builder's buffer doesn't leak into the next document
+        doc = builder.build("<root>x<![CDATA[<y>]]>z<a>\uD834\uDD1E</a></root>", null);
+        root = doc.getRootElement();
+        assertEquals("x<y>z\uD834\uDD1E", root.getValue());
+        assertEquals(2, root.getChildCount());
+        
+        doc = builder.build("<root><![CDATA[<y>]]></root>", null);
+        assertEquals("<root><![CDATA[<y>]]></root>", doc.getRootElement().toXML());
+        
+    }
+    
+    
     public void testBuildInternalDTDSubsetWithFixedDefaultAttributeValue() 
       throws ParsingException, IOException {
         
@@ -684,6 +728,133 @@ public class BuilderTest extends XOMTestCase {
     }
 
     
+    public void testBuildFromByteBufferWithBase()
+      throws IOException, ParsingException {
+        
+        byte[] data = source.getBytes("UTF-8");
+        ByteBuffer in = ByteBuffer.allocate(data.length + 10);
+        in.position(5);
+        in.put(data);
+        in.position(5);
+        in.limit(5 + data.length);
+        Document document = builder.build(in, base);
+        verify(document);        
+        assertEquals(base, document.getBaseURI());
+        assertEquals(5, in.position());
+        
+    }
+    
+    
+    public void testBuildFromDirectByteBuffer()
+      throws IOException, ParsingException {
+        
+        byte[] data = source.getBytes("UTF-8");
+        ByteBuffer in = ByteBuffer.allocateDirect(data.length);
+        in.put(data);
+        in.flip();
+        Document document = builder.build(in);
+        verify(document);        
+        assertEquals("", document.getBaseURI());
+        
+        // can be parsed again because the position didn't move
+        verify(builder.build(in));
+        
+    }
+    
+    
+    public void testBuildFromMappedByteBuffer()
+      throws IOException, ParsingException {
+        
+        File f = new File(inputDir, "mapped.xml");
+        OutputStream out = new FileOutputStream(f);
+        out.write(source.getBytes("UTF-8"));
+        out.close();
+        RandomAccessFile file = new RandomAccessFile(f, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            ByteBuffer in = channel.map(
+              FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Document document = builder.build(in, base);
+            verify(document);
+            assertEquals(base, document.getBaseURI());
+        }
+        finally {
+            file.close();
+            f.delete();
+        }
+        
+    }
+    
+    
+    public void testBuildFromMalformedByteBuffer()
+      throws IOException {
+        
+        ByteBuffer in = ByteBuffer.wrap("<root>".getBytes("UTF-8"));
+        try {
+            builder.build(in);
+            fail("Built malformed document");
+        }
+        catch (ParsingException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+    
+    
+    public void testBuildFromNullByteBuffer()
+      throws IOException, ParsingException {
+        
+        ByteBuffer in = null;
+        try {
+            builder.build(in);
+            fail("Built from null buffer");
+        }
+        catch (NullPointerException success) {
+            assertEquals("Null ByteBuffer", success.getMessage());
+        }
+        
+    }
+    
+    
+    public void testBuildFromChannelWithBase()
+      throws IOException, ParsingException {
+        
+        InputStream bytes = new ByteArrayInputStream(source.getBytes("UTF-8"));
+        ReadableByteChannel in = Channels.newChannel(bytes);
+        Document document = builder.build(in, base);
+        verify(document);        
+        assertEquals(base, document.getBaseURI());
+        assertTrue(in.isOpen());
+        
+    }
+    
+    
+    public void testBuildFromChannelWithoutBase()
+      throws IOException, ParsingException {
+        
+        InputStream bytes = new ByteArrayInputStream(source.getBytes("UTF-8"));
+        Document document = builder.build(Channels.newChannel(bytes));
+        verify(document);        
+        assertEquals("", document.getBaseURI());
+        
+    }
+    
+    
+    public void testBuildFromNullChannel()
+      throws IOException, ParsingException {
+        
+        ReadableByteChannel in = null;
+        try {
+            builder.build(in);
+            fail("Built from null channel");
+        }
+        catch (NullPointerException success) {
+            assertEquals("Null channel", success.getMessage());
+        }
+        
+    }
+
+    
     public void testBuildFromNullInputStream()
       throws IOException, ParsingException {
         
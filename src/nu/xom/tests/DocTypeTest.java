@@ -23,6 +23,9 @@ package nu.xom.tests;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLFilter;
@@ -45,7 +48,7 @@ import nu.xom.WellformednessException;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.2b3
+ * @version 1.5.0
  *
  */
 public class DocTypeTest extends XOMTestCase {
@@ -374,6 +377,89 @@ public class DocTypeTest extends XOMTestCase {
     }
 
     
+    public void testRepeatedMalformedInternalDTDSubset() {
+        
+        String subset = "<!ELEMENT test (#PCDATA)>";
+        DocType doctype = new DocType("root");
+        doctype.setInternalDTDSubset(subset);
+        doctype.setInternalDTDSubset(new String(subset));
+        for (int i = 0; i < 2; i++) {
+            try {
+                doctype.setInternalDTDSubset(subset + "<!ELEMENT test (PCDATA>");
+                fail("Allowed malformed internal DTD subset");
+            }
+            catch (IllegalDataException success) {
+                assertNotNull(success.getMessage());
+            }
+        }
+        assertEquals(subset, doctype.getInternalDTDSubset());
+        
+    }
+
+    
+    public void testRepeatedLargeInternalDTDSubset() {
+        
+        StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            buffer.append("<!ELEMENT e" + i + " (#PCDATA)>\n");
+        }
+        String subset = buffer.toString();
+        DocType doctype = new DocType("root");
+        for (int i = 0; i < 2; i++) {
+            doctype.setInternalDTDSubset(subset);
+            assertEquals(subset, doctype.getInternalDTDSubset());
+            try {
+                doctype.setInternalDTDSubset(subset + "<!ELEMENT test (PCDATA>");
+                fail("Allowed malformed internal DTD subset");
+            }
+            catch (IllegalDataException success) {
+                assertNotNull(success.getMessage());
+            }
+        }
+        
+    }
+
+    
+    public void testSetInternalDTDSubsetConcurrently() 
+      throws InterruptedException {
+        
+        final List<Throwable> failures
+          = Collections.synchronizedList(new ArrayList<Throwable>());
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            final int id = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        DocType doctype = new DocType("root");
+                        for (int j = 0; j < 50; j++) {
+                            String subset = "<!ELEMENT e" + (j % 10) 
+                              + " (#PCDATA)>\n<!ATTLIST root id" + id + " ID #IMPLIED>\n";
+                            doctype.setInternalDTDSubset(subset);
+                            assertEquals(subset, doctype.getInternalDTDSubset());
+                            try {
+                                doctype.setInternalDTDSubset(subset + "<!ELEMENT");
+                                fail("Allowed malformed internal DTD subset");
+                            }
+                            catch (IllegalDataException success) {
+                                assertNotNull(success.getMessage());
+                            }
+                        }
+                    }
+                    catch (Throwable ex) {
+                        failures.add(ex);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) threads[i].join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        
+    }
+
+    
     public void testEmptyRootElementName() {
         
         try {
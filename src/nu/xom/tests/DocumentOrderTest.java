@@ -0,0 +1,257 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.tests;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import nu.xom.Attribute;
+import nu.xom.Builder;
+import nu.xom.Document;
+import nu.xom.DocumentOrder;
+import nu.xom.Element;
+import nu.xom.Namespace;
+import nu.xom.Node;
+import nu.xom.Nodes;
+import nu.xom.ParsingException;
+import nu.xom.Text;
+
+/**
+ * <p>
+ * Unit tests for comparing nodes in document order.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public class DocumentOrderTest extends XOMTestCase {
+
+
+    private DocumentOrder order = new DocumentOrder();
+    private Document doc;
+
+
+    public DocumentOrderTest(String name) {
+        super(name);
+    }
+
+
+    protected void setUp() throws ParsingException, IOException {
+
+        String data = "<?target data?><root xmlns:pre='http://www.example.org/'"
+          + " a='1' b='2'>text<child pre:c='3'><!--comment--><leaf/>"
+          + "</child><pre:child>more text</pre:child></root><!--end-->";
+        doc = new Builder().build(data, null);
+
+    }
+
+
+    private static List<Node> toList(Nodes nodes) {
+
+        List<Node> result = new ArrayList<Node>();
+        for (int i = 0; i < nodes.size(); i++) {
+            result.add(nodes.get(i));
+        }
+        return result;
+
+    }
+
+
+    public void testSortShuffledNodes() {
+
+        List<Node> expected = toList(doc.query("//node() | //@*"));
+        expected.add(0, doc);
+        for (int seed = 0; seed < 10; seed++) {
+            List<Node> nodes = new ArrayList<Node>(expected);
+            Collections.shuffle(nodes, new Random(seed));
+            Collections.sort(nodes, order);
+            assertEquals(expected, nodes);
+        }
+
+    }
+
+
+    public void testNamespaceNodes() {
+
+        Element root = doc.getRootElement();
+        Node namespace = root.query("namespace::pre").get(0);
+        assertTrue(namespace instanceof Namespace);
+        assertTrue(order.compare(root, namespace) < 0);
+        assertTrue(order.compare(namespace, root.getAttribute(0)) < 0);
+        assertTrue(order.compare(namespace, root.getChild(0)) < 0);
+        assertTrue(order.compare(doc.getChild(0), namespace) < 0);
+
+        Node xml = root.query("namespace::xml").get(0);
+        assertEquals(0, order.compare(namespace, xml));
+
+    }
+
+
+    public void testAttributesBeforeChildren() {
+
+        Element root = doc.getRootElement();
+        Attribute b = root.getAttribute("b");
+        Node text = root.getChild(0);
+        assertTrue(order.compare(root, b) < 0);
+        assertTrue(order.compare(root.getAttribute("a"), b) < 0);
+        assertTrue(order.compare(b, text) < 0);
+        assertTrue(order.compare(text, b) > 0);
+        assertEquals(0, order.compare(b, b));
+
+    }
+
+
+    public void testChangesRenumber() {
+
+        Element root = doc.getRootElement();
+        Element child = (Element) root.getChild(1);
+        Node leaf = child.getChild(1);
+        assertTrue(order.compare(root.getChild(0), leaf) < 0);
+
+        Element first = new Element("first");
+        root.insertChild(first, 0);
+        assertTrue(order.compare(first, root.getChild(1)) < 0);
+        assertTrue(order.compare(first, leaf) < 0);
+        assertTrue(order.compare(root, first) < 0);
+
+        leaf.detach();
+        root.insertChild(leaf, 0);
+        assertTrue(order.compare(leaf, first) < 0);
+        assertTrue(order.compare(root.getAttribute(0), leaf) < 0);
+
+        Attribute added = new Attribute("added", "value");
+        first.addAttribute(added);
+        assertTrue(order.compare(first, added) < 0);
+        assertTrue(order.compare(added, child) < 0);
+        assertTrue(order.compare(leaf, added) < 0);
+
+        child.removeChildren();
+        Text text = new Text("new");
+        child.appendChild(text);
+        assertTrue(order.compare(added, text) < 0);
+        assertTrue(order.compare(child, text) < 0);
+        assertTrue(order.compare(text, root.getChild(4)) < 0);
+
+    }
+
+
+    public void testReplaceRootElement() {
+
+        Element root = doc.getRootElement();
+        Node comment = doc.getChild(2);
+        assertTrue(order.compare(root, comment) < 0);
+        Element newRoot = new Element("new");
+        doc.setRootElement(newRoot);
+        assertTrue(order.compare(doc.getChild(0), newRoot) < 0);
+        assertTrue(order.compare(newRoot, comment) < 0);
+        try {
+            order.compare(root, newRoot);
+            fail("Compared old root");
+        }
+        catch (IllegalArgumentException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testDetachedTree() {
+
+        Element root = new Element("root");
+        Element child = new Element("child");
+        Text text = new Text("text");
+        root.appendChild(child);
+        child.appendChild(text);
+        root.appendChild(new Element("last"));
+        assertTrue(order.compare(root, text) < 0);
+        assertTrue(order.compare(text, root.getChild(1)) < 0);
+
+    }
+
+
+    public void testDifferentTrees() {
+
+        Element other = new Element("other");
+        try {
+            order.compare(doc.getRootElement(), other);
+            fail("Compared nodes from different trees");
+        }
+        catch (IllegalArgumentException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            order.compare(new Text("detached"), doc);
+            fail("Compared detached text");
+        }
+        catch (IllegalArgumentException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testNull() {
+
+        try {
+            order.compare(doc, null);
+            fail("Compared null");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testCompareAfterIDLookup() {
+
+        // looking up an ID numbers the tree without
+        // computing the positions of its nodes
+        Element child = (Element) doc.getRootElement().getChild(1);
+        child.addAttribute(new Attribute("xml:id",
+          "http://www.w3.org/XML/1998/namespace", "c"));
+        assertEquals(child, doc.getElementByID("c"));
+        List<Node> expected = toList(doc.query("//node() | //@*"));
+        List<Node> nodes = new ArrayList<Node>(expected);
+        Collections.reverse(nodes);
+        Collections.sort(nodes, order);
+        assertEquals(expected, nodes);
+
+    }
+
+
+    public void testFrozenDocument() {
+
+        List<Node> expected = toList(doc.query("//node() | //@*"));
+        doc.freeze();
+        List<Node> nodes = new ArrayList<Node>(expected);
+        Collections.reverse(nodes);
+        Collections.sort(nodes, order);
+        assertEquals(expected, nodes);
+
+    }
+
+
+}
@@ -22,6 +22,7 @@ package nu.xom.tests;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 
 import junit.framework.Assert;
 import nu.xom.Attribute;
@@ -50,7 +51,7 @@ import nu.xom.Text;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.0
+ * @version 1.5.0
  *
  */
 public class ElementTest extends XOMTestCase {
@@ -1755,5 +1756,296 @@ public class ElementTest extends XOMTestCase {
         
     }
 
+    
+    public void testManyAttributes() {
+        
+        Element element = new Element("row");
+        for (int i = 0; i < 200; i++) {
+            element.addAttribute(new Attribute("a" + i, String.valueOf(i)));
+        }
+        assertEquals(200, element.getAttributeCount());
+        for (int i = 0; i < 200; i++) {
+            assertEquals("a" + i, element.getAttribute(i).getLocalName());
+            assertEquals(String.valueOf(i), element.getAttributeValue("a" + i));
+        }
+        assertNull(element.getAttribute("a200"));
+        assertNull(element.getAttribute("a1", "http://www.example.org/"));
+        assertNull(element.getAttribute(null, ""));
+        
+        // replacing an attribute moves it to the end
+        element.addAttribute(new Attribute("a7", "seven"));
+        assertEquals(200, element.getAttributeCount());
+        assertEquals("seven", element.getAttribute(199).getValue());
+        assertEquals("seven", element.getAttributeValue("a7"));
+        
+        for (int i = 0; i < 200; i += 2) {
+            element.removeAttribute(element.getAttribute("a" + i));
+        }
+        assertEquals(100, element.getAttributeCount());
+        for (int i = 0; i < 200; i++) {
+            if (i % 2 == 0) assertNull(element.getAttribute("a" + i));
+            else assertNotNull(element.getAttribute("a" + i));
+        }
+        
+        while (element.getAttributeCount() > 1) {
+            element.removeAttribute(element.getAttribute(0));
+        }
+        assertEquals("a7", element.getAttribute(0).getLocalName());
+        assertEquals("seven", element.getAttributeValue("a7"));
+        assertNull(element.getAttribute("a199"));
+        
+    }
+    
+    
+    public void testRenameAttributeOfWideElement() {
+        
+        Element element = new Element("row");
+        for (int i = 0; i < 50; i++) {
+            element.addAttribute(new Attribute("a" + i, String.valueOf(i)));
+        }
+        Attribute attribute = element.getAttribute("a10");
+        attribute.setLocalName("renamed");
+        assertNull(element.getAttribute("a10"));
+        assertSame(attribute, element.getAttribute("renamed"));
+        
+        attribute.setNamespace("pre", "http://www.example.org/");
+        assertNull(element.getAttribute("renamed"));
+        assertSame(attribute, 
+          element.getAttribute("renamed", "http://www.example.org/"));
+        assertEquals("http://www.example.org/", 
+          element.getNamespaceURI("pre"));
+        
+    }
+    
+    
+    public void testPrefixConflictInWideElement() {
+        
+        Element element = new Element("row");
+        for (int i = 0; i < 50; i++) {
+            element.addAttribute(new Attribute("a" + i, String.valueOf(i)));
+        }
+        element.addAttribute(new Attribute("pre:x", 
+          "http://www.example.org/", "value"));
+        try {
+            element.addAttribute(new Attribute("pre:y", 
+              "http://www.example.com/", "value"));
+            fail("Allowed conflicting prefixes");
+        }
+        catch (NamespaceConflictException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            element.setNamespaceURI("http://www.example.com/");
+            element.setNamespacePrefix("pre");
+            fail("Allowed element prefix to conflict with attribute");
+        }
+        catch (NamespaceConflictException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+    
+    
+    public void testCopyWideElement() throws ParsingException, IOException {
+        
+        StringBuilder data = new StringBuilder("<row");
+        for (int i = 0; i < 40; i++) {
+            data.append(" a").append(i).append("='").append(i).append("'");
+        }
+        data.append("/>");
+        Element row = new Builder().build(data.toString(), null).getRootElement();
+        assertEquals("39", row.getAttributeValue("a39"));
+        
+        Element copy = row.copy();
+        assertEquals(row, copy);
+        assertEquals("39", copy.getAttributeValue("a39"));
+        copy.getAttribute("a39").detach();
+        assertNull(copy.getAttribute("a39"));
+        assertNotNull(row.getAttribute("a39"));
+        
+    }
+
+    
+    public void testWalkChildElements() throws ParsingException, IOException {
+        
+        String data = "<root>text<a/><!--c--><pre:b xmlns:pre='http://www.example.org/'/>"
+          + " <a>x</a><?pi?><c/>tail</root>";
+        Element root = new Builder().build(data, null).getRootElement();
+        
+        StringBuilder names = new StringBuilder();
+        for (Element child = root.getFirstChildElement(); 
+             child != null; 
+             child = child.getNextSiblingElement()) {
+            names.append(child.getLocalName());
+        }
+        assertEquals("abac", names.toString());
+        
+        int count = 0;
+        for (Element child = root.getFirstChildElement("a"); 
+             child != null; 
+             child = child.getNextSiblingElement("a")) {
+            count++;
+        }
+        assertEquals(2, count);
+        
+        Element b = root.getFirstChildElement("b", "http://www.example.org/");
+        assertNotNull(b);
+        assertNull(b.getNextSiblingElement("b", "http://www.example.org/"));
+        assertEquals("c", b.getNextSiblingElement("c").getLocalName());
+        assertNull(root.getNextSiblingElement());
+        assertNull(new Element("empty").getFirstChildElement());
+        assertNull(new Element("orphan").getNextSiblingElement());
+        
+    }
+    
+    
+    public void testWalkChildElementsWhileChanging() {
+        
+        Element root = new Element("root");
+        for (int i = 0; i < 5; i++) {
+            root.appendChild(new Element("e" + i));
+            root.appendChild(" ");
+        }
+        Element first = root.getFirstChildElement();
+        Element second = first.getNextSiblingElement();
+        root.insertChild(new Element("new"), 1);
+        assertEquals("new", first.getNextSiblingElement().getLocalName());
+        assertEquals("e2", second.getNextSiblingElement().getLocalName());
+        
+        second.detach();
+        assertNull(second.getNextSiblingElement());
+        
+    }
+    
+    
+    public void testNextSiblingElementNull() {
+        
+        Element root = new Element("root");
+        Element child = new Element("child");
+        root.appendChild(child);
+        try {
+            child.getNextSiblingElement(null, "");
+            fail("Allowed null local name");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.getNextSiblingElement("child", null);
+            fail("Allowed null namespace URI");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+    
+    
+    public void testWriteValue() throws IOException {
+        
+        Element root = new Element("root");
+        root.appendChild("a");
+        Element child = new Element("child");
+        child.appendChild("b");
+        child.appendChild(new Comment("not text"));
+        Element grandchild = new Element("grandchild");
+        grandchild.appendChild("c");
+        child.appendChild(grandchild);
+        root.appendChild(child);
+        root.appendChild("d");
+        
+        StringWriter out = new StringWriter();
+        root.writeValue(out);
+        assertEquals("abcd", out.toString());
+        
+        // the same again after computing the values
+        assertEquals("bc", child.getValue());
+        assertEquals("abcd", root.getValue());
+        StringBuilder buffer = new StringBuilder();
+        root.writeValue(buffer);
+        assertEquals("abcd", buffer.toString());
+        
+        buffer = new StringBuilder();
+        new Element("empty").writeValue(buffer);
+        assertEquals("", buffer.toString());
+        
+    }
+    
+    
+    public void testWriteNullValue() throws IOException {
+        
+        try {
+            new Element("root").writeValue(null);
+            fail("Wrote to null");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+    
+    
+    public void testValueFollowsChanges() {
+        
+        Element root = new Element("root");
+        Element middle = new Element("middle");
+        Element leaf = new Element("leaf");
+        Text text = new Text("1");
+        leaf.appendChild(text);
+        middle.appendChild(leaf);
+        root.appendChild("0");
+        root.appendChild(middle);
+        assertEquals("01", root.getValue());
+        assertEquals("1", leaf.getValue());
+        
+        text.setValue("2");
+        assertEquals("02", root.getValue());
+        assertEquals("2", middle.getValue());
+        assertEquals("2", leaf.getValue());
+        
+        leaf.appendChild("3");
+        assertEquals("023", root.getValue());
+        leaf.insertChild(new Element("new"), 0);
+        ((Element) leaf.getChild(0)).appendChild("x");
+        assertEquals("0x23", root.getValue());
+        
+        leaf.removeChild(0);
+        assertEquals("023", root.getValue());
+        middle.replaceChild(leaf, new Text("4"));
+        assertEquals("04", root.getValue());
+        assertEquals("23", leaf.getValue());
+        
+        middle.removeChildren();
+        assertEquals("0", root.getValue());
+        
+        // moving an element whose value was computed
+        middle.appendChild(leaf);
+        assertEquals("023", root.getValue());
+        leaf.detach();
+        assertEquals("0", root.getValue());
+        text.setValue("5");
+        assertEquals("53", leaf.getValue());
+        assertEquals("0", root.getValue());
+        
+    }
+    
+    
+    public void testValueOfCopy() {
+        
+        Element root = new Element("root");
+        Element child = new Element("child");
+        child.appendChild("a");
+        root.appendChild(child);
+        root.appendChild("b");
+        assertEquals("ab", root.getValue());
+        
+        Element copy = root.copy();
+        assertEquals("ab", copy.getValue());
+        copy.getChildElements().get(0).appendChild("c");
+        assertEquals("acb", copy.getValue());
+        assertEquals("ab", root.getValue());
+        
+    }
+
 
 }
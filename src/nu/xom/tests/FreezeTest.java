@@ -0,0 +1,687 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import nu.xom.Attribute;
+import nu.xom.Builder;
+import nu.xom.Comment;
+import nu.xom.DocType;
+import nu.xom.Document;
+import nu.xom.Element;
+import nu.xom.MultipleParentException;
+import nu.xom.Node;
+import nu.xom.ParsingException;
+import nu.xom.ProcessingInstruction;
+import nu.xom.ReadOnlyException;
+import nu.xom.Serializer;
+import nu.xom.Text;
+import nu.xom.canonical.Canonicalizer;
+
+/**
+ * <p>
+ * Unit tests for frozen, read-only documents
+ * and the lazy copies made from them.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public class FreezeTest extends XOMTestCase {
+
+
+    private Document doc;
+    private Element root;
+    private Element child;
+    private Attribute attribute;
+    private Text text;
+    private Comment comment;
+    private ProcessingInstruction instruction;
+    private DocType doctype;
+
+
+    public FreezeTest(String name) {
+        super(name);
+    }
+
+
+    protected void setUp() throws ParsingException, IOException {
+
+        String data = "<!DOCTYPE root><?target data?><root>"
+          + "<child xml:id='c1' a='value'>text<!--comment--></child>"
+          + "</root>";
+        doc = new Builder().build(data, "http://www.example.org/");
+        doctype = doc.getDocType();
+        instruction = (ProcessingInstruction) doc.getChild(1);
+        root = doc.getRootElement();
+        child = (Element) root.getChild(0);
+        attribute = child.getAttribute("a");
+        text = (Text) child.getChild(0);
+        comment = (Comment) child.getChild(1);
+
+    }
+
+
+    public void testIsFrozen() {
+
+        assertFalse(doc.isFrozen());
+        doc.freeze();
+        assertTrue(doc.isFrozen());
+        doc.freeze();
+        assertTrue(doc.isFrozen());
+
+    }
+
+
+    public void testFreezingDoesNotChangeDocument() {
+
+        Document copy = new Document(doc);
+        doc.freeze();
+        assertEquals(copy, doc);
+        assertEquals(child, doc.getElementByID("c1"));
+
+    }
+
+
+    public void testFreezingSharesValues()
+      throws ParsingException, IOException {
+
+        String data = "<p:root xmlns:p='http://www.example.org/'>"
+          + "<p:item a='yes' b='yes'> </p:item>"
+          + "<p:item a='yes' b='no'> </p:item>"
+          + "<p:item a='no'>  </p:item></p:root>";
+        Document doc = new Builder().build(data, null);
+        Document original = new Document(doc);
+        doc.freeze();
+        assertEquals(original, doc);
+        
+        Element root = doc.getRootElement();
+        Element first = (Element) root.getChild(0);
+        Element second = (Element) root.getChild(1);
+        assertSame(first.getNamespacePrefix(), second.getNamespacePrefix());
+        assertSame(first.getLocalName(), second.getLocalName());
+        assertSame(root.getNamespaceURI(), second.getNamespaceURI());
+        assertSame(first.getAttributeValue("a"), first.getAttributeValue("b"));
+        assertSame(first.getAttributeValue("a"), second.getAttributeValue("a"));
+        assertEquals("no", second.getAttributeValue("b"));
+
+    }
+
+
+    public void testChangeCopyOfFrozenDocument() {
+
+        doc.freeze();
+        Document copy = doc.copy();
+        Element root = copy.getRootElement();
+        Element child = (Element) root.getChild(0);
+        child.appendChild("more");
+        child.addAttribute(new Attribute("b", "value"));
+        root.appendChild(new Element("new"));
+        root.insertChild("first", 0);
+        assertEquals(
+          "<root>first<child xml:id=\"c1\" a=\"value\" b=\"value\">"
+          + "text<!--comment-->more</child><new /></root>", 
+          root.toXML());
+        assertEquals(2, this.child.getAttributeCount());
+        assertEquals(2, this.child.getChildCount());
+
+    }
+
+
+    public void testParentNodeMutators() {
+
+        doc.freeze();
+        try {
+            root.appendChild(new Element("new"));
+            fail("Appended to frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            root.insertChild(new Comment("new"), 0);
+            fail("Inserted into frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.removeChild(0);
+            fail("Removed child of frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.removeChild(comment);
+            fail("Removed child of frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.replaceChild(text, new Text("new"));
+            fail("Replaced child of frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            comment.detach();
+            fail("Detached child of frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals(2, child.getChildCount());
+        assertEquals(comment.getParent(), child);
+
+    }
+
+
+    public void testElementMutators() {
+
+        doc.freeze();
+        try {
+            child.addAttribute(new Attribute("b", "value"));
+            fail("Added attribute to frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.removeAttribute(attribute);
+            fail("Removed attribute from frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            attribute.detach();
+            fail("Detached attribute from frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.setLocalName("name");
+            fail("Renamed frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.setNamespaceURI("http://www.example.org/");
+            fail("Changed namespace of frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.setNamespacePrefix("pre");
+            fail("Changed prefix of frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.appendChild("text");
+            fail("Appended string to frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.insertChild("text", 0);
+            fail("Inserted string into frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.removeChildren();
+            fail("Removed children of frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.addNamespaceDeclaration("pre", "http://www.example.org/");
+            fail("Declared namespace on frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.removeNamespaceDeclaration("pre");
+            fail("Removed namespace from frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            child.setBaseURI("http://www.example.com/");
+            fail("Changed base URI of frozen element");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals("child", child.getQualifiedName());
+        assertEquals(2, child.getAttributeCount());
+
+    }
+
+
+    public void testDocumentMutators() {
+
+        doc.freeze();
+        try {
+            doc.setRootElement(new Element("new"));
+            fail("Replaced root of frozen document");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            doc.setDocType(new DocType("new"));
+            fail("Replaced DOCTYPE of frozen document");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            doc.setBaseURI("http://www.example.com/");
+            fail("Changed base URI of frozen document");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            doc.removeChild(instruction);
+            fail("Removed child of frozen document");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals(root, doc.getRootElement());
+        assertEquals("http://www.example.org/", doc.getBaseURI());
+
+    }
+
+
+    public void testLeafMutators() {
+
+        doc.freeze();
+        try {
+            attribute.setValue("new");
+            fail("Changed value of frozen attribute");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            attribute.setLocalName("new");
+            fail("Renamed frozen attribute");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            attribute.setNamespace("pre", "http://www.example.org/");
+            fail("Changed namespace of frozen attribute");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            attribute.setType(Attribute.Type.CDATA);
+            fail("Changed type of frozen attribute");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            text.setValue("new");
+            fail("Changed value of frozen text");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            comment.setValue("new");
+            fail("Changed value of frozen comment");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            instruction.setTarget("new");
+            fail("Changed target of frozen processing instruction");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            instruction.setValue("new");
+            fail("Changed value of frozen processing instruction");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            doctype.setRootElementName("new");
+            fail("Changed frozen DOCTYPE");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            doctype.setPublicID("-//Example//DTD Example//EN");
+            fail("Changed frozen DOCTYPE");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            doctype.setSystemID("http://www.example.org/");
+            fail("Changed frozen DOCTYPE");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            doctype.setInternalDTDSubset("");
+            fail("Changed frozen DOCTYPE");
+        }
+        catch (ReadOnlyException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals("value", attribute.getValue());
+        assertEquals("text", text.getValue());
+        assertEquals("comment", comment.getValue());
+
+    }
+
+
+    public void testCopiesAreNotFrozen() {
+
+        doc.freeze();
+        Document copy = doc.copy();
+        assertFalse(copy.isFrozen());
+        copy.getRootElement().appendChild("more");
+        assertEquals("textmore", copy.getValue());
+
+        Element element = child.copy();
+        element.setLocalName("copy");
+        new Document(element).freeze();
+        assertEquals("child", child.getLocalName());
+
+    }
+
+
+    public void testCanAddFrozenNodeCopiesElsewhere() {
+
+        doc.freeze();
+        Element other = new Element("other");
+        other.appendChild(text.copy());
+        other.addAttribute(attribute.copy());
+        assertEquals("text", other.getValue());
+
+    }
+
+
+    public void testConcurrentReads() throws InterruptedException {
+
+        final Document frozen = new Document(new Element("root"));
+        for (int i = 0; i < 100; i++) {
+            Element item = new Element("item");
+            item.addAttribute(new Attribute("xml:id",
+              "http://www.w3.org/XML/1998/namespace", "i" + i));
+            item.appendChild(String.valueOf(i));
+            frozen.getRootElement().appendChild(item);
+        }
+        frozen.freeze();
+        final String expected = frozen.toXML();
+
+        final List<Throwable> failures
+          = Collections.synchronizedList(new ArrayList<Throwable>());
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < 20; j++) {
+                            assertEquals(100, frozen.query("/root/item").size());
+                            assertEquals("42", frozen.getElementByID("i42").getValue());
+                            assertEquals(expected, frozen.toXML());
+                            ByteArrayOutputStream out = new ByteArrayOutputStream();
+                            new Serializer(out).write(frozen);
+                            out.reset();
+                            new Canonicalizer(out).write(frozen);
+                            assertTrue(out.size() > 0);
+                        }
+                    }
+                    catch (Throwable ex) {
+                        failures.add(ex);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) threads[i].join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+
+    }
+
+
+    public void testFrozenNodeCannotBeMoved() {
+
+        doc.freeze();
+        Element other = new Element("other");
+        try {
+            other.appendChild(child);
+            fail("Moved frozen node");
+        }
+        catch (MultipleParentException success) {
+            assertEquals(root, child.getParent());
+        }
+
+    }
+
+
+    public void testLazyCopyIsEqual() {
+
+        Document template = makeTemplate();
+        Document copy = template.copy();
+        assertEquals(template, copy);
+        assertEquals(template.toXML(), copy.toXML());
+        assertFalse(copy.isFrozen());
+
+    }
+
+
+    public void testChangeLazyCopy() {
+
+        Document template = makeTemplate();
+        String before = template.toXML();
+        Document copy = new Document(template);
+        Element row = (Element) copy.getRootElement().getChild(7);
+        row.getAttribute("n").setValue("changed");
+        row.appendChild(new Element("extra"));
+        ((Text) row.getChild(0)).setValue("new text");
+
+        assertEquals(before, template.toXML());
+        assertEquals("changed",
+          copy.getRootElement().getChild(7).query("@n").get(0).getValue());
+        assertEquals(3, row.getChildCount());
+        assertEquals("new text", row.getValue());
+        assertEquals(copy.getRootElement(), row.getParent());
+
+    }
+
+
+    public void testOnlyFrozenValuesAreRemembered() {
+
+        String value = root.getValue();
+        assertEquals(value, root.getValue());
+        assertNotSame(value, root.getValue());
+
+        doc.freeze();
+        value = root.getValue();
+        assertSame(value, root.getValue());
+        assertSame(value, doc.getValue());
+
+    }
+
+
+    public void testValueOfLazyCopy() {
+
+        Document template = makeTemplate();
+        String value = template.getValue();
+        assertEquals(value, template.getValue());
+        
+        Document copy = new Document(template);
+        assertEquals(value, copy.getValue());
+        Element row = (Element) copy.getRootElement().getChild(7);
+        ((Text) row.getChild(0)).setValue("new text");
+        assertFalse(value.equals(copy.getValue()));
+        assertEquals(value, template.getValue());
+
+    }
+
+
+    public void testAppendToLazyCopy() {
+
+        Document template = makeTemplate();
+        Element copy = template.getRootElement().copy();
+        copy.appendChild(new Element("last"));
+        assertEquals(101, copy.getChildCount());
+        assertEquals("last", ((Element) copy.getChild(100)).getLocalName());
+
+    }
+
+
+    public void testRemoveChildrenFromLazyCopy() {
+
+        Document template = makeTemplate();
+        Element copy = template.getRootElement().copy();
+        assertEquals(100, copy.removeChildren().size());
+        assertEquals(0, copy.getChildCount());
+        assertEquals(100, template.getRootElement().getChildCount());
+
+    }
+
+
+    public void testCopyOfLazyCopy() {
+
+        Document template = makeTemplate();
+        Element first = template.getRootElement().copy();
+        Element second = first.copy();
+        Element third = new Element(second);
+        assertEquals(template.getRootElement(), third);
+        third.removeChild(0);
+        assertEquals(99, third.getChildCount());
+        assertEquals(100, second.getChildCount());
+        assertEquals(100, first.getChildCount());
+
+    }
+
+
+    public void testLazyCopyOfFrozenDescendant() {
+
+        Document template = makeTemplate();
+        Element row = (Element) template.getRootElement().getChild(3);
+        Element copy = row.copy();
+        assertNull(copy.getParent());
+        assertEquals(row, copy);
+        assertEquals("http://www.example.org/template.xml", copy.getBaseURI());
+
+    }
+
+
+    public void testLazyCopyUsesShallowCopy() {
+
+        Element root = new Element("root");
+        Element child = new Element("child");
+        root.appendChild(child);
+        child.appendChild(new CustomElement("custom"));
+        Document template = new Document(root);
+        template.freeze();
+
+        Node node = template.copy().getRootElement().getChild(0).getChild(0);
+        assertTrue(node instanceof CustomElement);
+
+    }
+
+
+    public void testLazyCopyIDs() {
+
+        Document template = makeTemplate();
+        Document copy = template.copy();
+        Element row = copy.getElementByID("r42");
+        assertNotNull(row);
+        assertEquals(copy.getRootElement(), row.getParent());
+        assertNotSame(template.getElementByID("r42"), row);
+
+    }
+
+
+    private static Document makeTemplate() {
+
+        Element root = new Element("root");
+        for (int i = 0; i < 100; i++) {
+            Element row = new Element("row");
+            row.addAttribute(new Attribute("n", String.valueOf(i)));
+            row.addAttribute(new Attribute("xml:id",
+              "http://www.w3.org/XML/1998/namespace", "r" + i));
+            row.appendChild("text " + i);
+            row.appendChild(new Comment("comment " + i));
+            root.appendChild(row);
+        }
+        Document template = new Document(root);
+        template.setBaseURI("http://www.example.org/template.xml");
+        template.freeze();
+        return template;
+
+    }
+
+
+    private static class CustomElement extends Element {
+
+        CustomElement(String name) {
+            super(name);
+        }
+
+        protected Element shallowCopy() {
+            return new CustomElement(getQualifiedName());
+        }
+
+    }
+
+
+}
@@ -1,4 +1,4 @@
-/* Copyright 2005, 2006, 2022 Elliotte Rusty Harold
+/* Copyright 2005, 2006, 2022, 2026 Elliotte Rusty Harold
    
    This library is free software; you can redistribute it and/or modify
    it under the terms of version 2.1 of the GNU Lesser General Public 
@@ -39,7 +39,7 @@ import nu.xom.ParsingException;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.8
+ * @version 1.5.0
  *
  */
 public class IDTest extends XOMTestCase {
@@ -234,6 +234,147 @@ public class IDTest extends XOMTestCase {
     }
     
     
+    public void testGetElementByID() 
+      throws ParsingException, IOException {
+        
+        Builder builder = new Builder();
+        String data = "<!DOCTYPE root [<!ATTLIST b key ID #IMPLIED>]>"
+          + "<root><a xml:id='p1'/><b key=' p2 '/><c id='p3'/></root>";
+        Document doc = builder.build(data, null);
+        Element root = doc.getRootElement();
+        assertEquals(root.getChild(0), doc.getElementByID("p1"));
+        assertEquals(root.getChild(1), doc.getElementByID("p2"));
+        assertNull(doc.getElementByID("p3"));
+        
+    }
+    
+    
+    public void testGetElementByIDReturnsFirstOfDuplicates() 
+      throws ParsingException, IOException {
+        
+        Builder builder = new Builder();
+        String data = "<root><a xml:id='p1'/><b xml:id='p1'/></root>";
+        Document doc = builder.build(data, null);
+        Element root = doc.getRootElement();
+        assertEquals(root.getChild(0), doc.getElementByID("p1"));
+        root.removeChild(0);
+        assertEquals(root.getChild(0), doc.getElementByID("p1"));
+        
+    }
+    
+    
+    public void testGetElementByIDChecksAllIDAttributes() 
+      throws ParsingException, IOException {
+        
+        Builder builder = new Builder();
+        String data = "<!DOCTYPE root [<!ATTLIST a key ID #IMPLIED>]>"
+          + "<root><a key='p1' xml:id='p2'/></root>";
+        Document doc = builder.build(data, null);
+        Element a = doc.getRootElement().getFirstChildElement("a");
+        assertEquals(a, doc.getElementByID("p1"));
+        assertEquals(a, doc.getElementByID("p2"));
+        assertEquals(1, doc.query("id('p2')").size());
+        
+    }
+    
+    
+    public void testIDIndexTracksInsertedAndRemovedElements() {
+        
+        Element root = new Element("root");
+        Document doc = new Document(root);
+        assertNull(doc.getElementByID("p1"));
+        
+        Element parent = new Element("parent");
+        Element child = new Element("child");
+        child.addAttribute(new Attribute("xml:id", 
+          "http://www.w3.org/XML/1998/namespace", "p1"));
+        parent.appendChild(child);
+        root.appendChild(parent);
+        assertEquals(child, doc.getElementByID("p1"));
+        
+        root.removeChild(parent);
+        assertNull(doc.getElementByID("p1"));
+        
+        root.appendChild(parent);
+        assertEquals(child, doc.getElementByID("p1"));
+        root.removeChildren();
+        assertNull(doc.getElementByID("p1"));
+        
+        doc.setRootElement(parent);
+        assertEquals(child, doc.getElementByID("p1"));
+        doc.setRootElement(root);
+        assertNull(doc.getElementByID("p1"));
+        
+    }
+    
+    
+    public void testIDIndexTracksAttributeChanges() {
+        
+        Element root = new Element("root");
+        Document doc = new Document(root);
+        Element child = new Element("child");
+        root.appendChild(child);
+        assertNull(doc.getElementByID("p1"));
+        
+        Attribute id = new Attribute("xml:id", 
+          "http://www.w3.org/XML/1998/namespace", "p1");
+        child.addAttribute(id);
+        assertEquals(child, doc.getElementByID("p1"));
+        
+        id.setValue("p2");
+        assertNull(doc.getElementByID("p1"));
+        assertEquals(child, doc.getElementByID("p2"));
+        
+        child.removeAttribute(id);
+        assertNull(doc.getElementByID("p2"));
+        
+        Attribute key = new Attribute("key", "p3");
+        child.addAttribute(key);
+        assertNull(doc.getElementByID("p3"));
+        key.setType(Attribute.Type.ID);
+        assertEquals(child, doc.getElementByID("p3"));
+        
+        // replacing an attribute removes the old ID
+        child.addAttribute(new Attribute("key", "p4"));
+        assertNull(doc.getElementByID("p3"));
+        assertNull(doc.getElementByID("p4"));
+        
+    }
+    
+    
+    public void testIDIndexResolvesLaterConflicts() {
+        
+        Element root = new Element("root");
+        Document doc = new Document(root);
+        Element second = new Element("second");
+        second.addAttribute(new Attribute("xml:id", 
+          "http://www.w3.org/XML/1998/namespace", "p1"));
+        root.appendChild(second);
+        assertEquals(second, doc.getElementByID("p1"));
+        
+        Element first = new Element("first");
+        first.addAttribute(new Attribute("xml:id", 
+          "http://www.w3.org/XML/1998/namespace", "p1"));
+        root.insertChild(first, 0);
+        assertEquals(first, doc.getElementByID("p1"));
+        
+    }
+    
+    
+    public void testXPathIDFunctionInFragment() {
+        
+        Element root = new Element("root");
+        Element child = new Element("child");
+        root.appendChild(child);
+        child.addAttribute(new Attribute("xml:id", 
+          "http://www.w3.org/XML/1998/namespace", "p1"));
+        Nodes result = root.query("id('p1')");
+        assertEquals(1, result.size());
+        assertEquals(child, result.get(0));
+        
+    }
+    
+    
     public void testXMLIDTestSuiteFromW3CServer() 
       throws ParsingException, IOException {
         try {
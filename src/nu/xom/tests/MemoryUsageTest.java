@@ -0,0 +1,185 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.tests;
+
+import java.io.IOException;
+
+import nu.xom.Attribute;
+import nu.xom.Builder;
+import nu.xom.Document;
+import nu.xom.Element;
+import nu.xom.MemoryUsage;
+import nu.xom.ParsingException;
+import nu.xom.Text;
+
+/**
+ * <p>
+ * Unit tests for estimating the memory used by documents.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public class MemoryUsageTest extends XOMTestCase {
+
+
+    private Document doc;
+
+
+    public MemoryUsageTest(String name) {
+        super(name);
+    }
+
+
+    protected void setUp() throws ParsingException, IOException {
+
+        StringBuilder data = new StringBuilder(
+          "<?target data?><root xmlns:pre='http://www.example.org/'>");
+        for (int i = 0; i < 100; i++) {
+            data.append("<pre:item n='" + i + "' type='row'>\n  text ");
+            data.append(i);
+            data.append("<!-- comment --></pre:item>\n");
+        }
+        data.append("</root>");
+        doc = new Builder().build(data.toString(), null);
+
+    }
+
+
+    private static void assertConsistent(MemoryUsage usage) {
+
+        assertEquals(usage.getTotalBytes(), usage.getNodeBytes()
+          + usage.getChildArrayBytes() + usage.getAttributeArrayBytes()
+          + usage.getTextBytes() + usage.getStringBytes()
+          + usage.getNamespaceBytes() + usage.getCacheBytes());
+        assertTrue(usage.getNodeBytes() >= 16 * usage.getNodeCount());
+
+    }
+
+
+    public void testMeasureDocument() {
+
+        MemoryUsage usage = new MemoryUsage(doc);
+        assertConsistent(usage);
+        // document, PI, root, 100 items with 2 attributes, a text
+        // node, and a comment, and 100 text nodes between them
+        assertEquals(3 + 100 * 5 + 100, usage.getNodeCount());
+        assertTrue(usage.getChildArrayBytes() > 0);
+        assertTrue(usage.getAttributeArrayBytes() > 0);
+        assertTrue(usage.getTextBytes() > 0);
+        assertTrue(usage.getStringBytes() > 0);
+        assertTrue(usage.getNamespaceBytes() > 0);
+        assertEquals(0, usage.getCacheBytes());
+        assertTrue(usage.toString().indexOf(" bytes in ") > 0);
+
+    }
+
+
+    public void testMeasureIsRepeatable() {
+        assertEquals(new MemoryUsage(doc).getTotalBytes(),
+          new MemoryUsage(doc).getTotalBytes());
+    }
+
+
+    public void testSizeGrowsWithContent() {
+
+        Element root = doc.getRootElement();
+        MemoryUsage before = new MemoryUsage(doc);
+        root.appendChild(new Text("some more text"));
+        MemoryUsage after = new MemoryUsage(doc);
+        assertEquals(before.getNodeCount() + 1, after.getNodeCount());
+        assertTrue(after.getTextBytes() > before.getTextBytes());
+
+        root.addAttribute(new Attribute("name", "value"));
+        MemoryUsage withAttribute = new MemoryUsage(doc);
+        assertEquals(after.getNodeCount() + 1, withAttribute.getNodeCount());
+        assertTrue(withAttribute.getAttributeArrayBytes()
+          > after.getAttributeArrayBytes());
+        assertTrue(withAttribute.getStringBytes() > after.getStringBytes());
+
+    }
+
+
+    public void testMeasureSubtree() {
+
+        Element item = (Element) doc.getRootElement().getChild(0);
+        MemoryUsage usage = new MemoryUsage(item);
+        assertConsistent(usage);
+        assertEquals(5, usage.getNodeCount());
+        assertTrue(usage.getTotalBytes()
+          < new MemoryUsage(doc).getTotalBytes() / 50);
+
+        MemoryUsage attribute = new MemoryUsage(item.getAttribute(0));
+        assertEquals(1, attribute.getNodeCount());
+        assertEquals(0, attribute.getChildArrayBytes());
+
+    }
+
+
+    public void testCachesAreCounted() {
+
+        // only frozen documents remember values
+        doc.freeze();
+        long before = new MemoryUsage(doc).getCacheBytes();
+        doc.getRootElement().getValue();
+        assertTrue(new MemoryUsage(doc).getCacheBytes() > before);
+
+    }
+
+
+    public void testFrozenDocumentIsSmaller() {
+
+        long before = new MemoryUsage(doc).getTotalBytes();
+        doc.freeze();
+        MemoryUsage usage = new MemoryUsage(doc);
+        assertConsistent(usage);
+        assertTrue(usage.getTotalBytes() < before);
+
+    }
+
+
+    public void testLazyCopyIsSmall() {
+
+        doc.freeze();
+        Document copy = doc.copy();
+        long size = new MemoryUsage(copy).getTotalBytes();
+        assertTrue(size < new MemoryUsage(doc).getTotalBytes() / 10);
+        // measuring didn't copy anything
+        assertEquals(size, new MemoryUsage(copy).getTotalBytes());
+
+    }
+
+
+    public void testNull() {
+
+        try {
+            new MemoryUsage(null);
+            fail("Measured null");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+}
@@ -20,6 +20,7 @@
 
 package nu.xom.tests;
 
+import nu.xom.Document;
 import nu.xom.Element;
 import nu.xom.Attribute;
 import nu.xom.MalformedURIException;
@@ -31,7 +32,7 @@ import nu.xom.NamespaceConflictException;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.2d1
+ * @version 1.5.0
  *
  */
 public class NamespacesTest extends XOMTestCase {
@@ -904,6 +905,97 @@ public class NamespacesTest extends XOMTestCase {
         }
         
     }
-     
+
+    
+    public void testInScopeNamespacesFollowChanges() {
+        
+        Element root = new Element("root");
+        root.addNamespaceDeclaration("a", "http://www.example.org/a");
+        Element middle = new Element("middle");
+        Element leaf = new Element("leaf");
+        root.appendChild(middle);
+        middle.appendChild(leaf);
+        assertEquals("http://www.example.org/a", leaf.getNamespaceURI("a"));
+        assertNull(leaf.getNamespaceURI("b"));
+        assertEquals("", leaf.getNamespaceURI(""));
+        
+        // a declaration on an ancestor
+        root.addNamespaceDeclaration("b", "http://www.example.org/b");
+        assertEquals("http://www.example.org/b", leaf.getNamespaceURI("b"));
+        root.removeNamespaceDeclaration("b");
+        assertNull(leaf.getNamespaceURI("b"));
+        
+        // overriding in the middle
+        middle.addNamespaceDeclaration("a", "http://www.example.org/other");
+        assertEquals("http://www.example.org/other", leaf.getNamespaceURI("a"));
+        
+        // a prefixed attribute
+        root.addAttribute(new Attribute("c:att", "http://www.example.org/c", "value"));
+        assertEquals("http://www.example.org/c", leaf.getNamespaceURI("c"));
+        root.getAttribute(0).setNamespace("e", "http://www.example.org/e");
+        assertNull(leaf.getNamespaceURI("c"));
+        assertEquals("http://www.example.org/e", leaf.getNamespaceURI("e"));
+        root.removeAttribute(root.getAttribute(0));
+        assertNull(leaf.getNamespaceURI("c"));
+        
+        // the element's own name
+        middle.setNamespaceURI("http://www.example.org/d");
+        middle.setNamespacePrefix("d");
+        assertEquals("http://www.example.org/d", leaf.getNamespaceURI("d"));
+        
+        // the default namespace
+        root.setNamespaceURI("http://www.example.org/default");
+        assertEquals("http://www.example.org/default", middle.getNamespaceURI(""));
+        assertEquals("", leaf.getNamespaceURI(""));
+        
+    }
+    
+    
+    public void testInScopeNamespacesFollowMoves() {
+        
+        Element first = new Element("pre:first", "http://www.example.org/1");
+        Element second = new Element("pre:second", "http://www.example.org/2");
+        Element middle = new Element("middle");
+        Element leaf = new Element("leaf");
+        middle.appendChild(leaf);
+        first.appendChild(middle);
+        assertEquals("http://www.example.org/1", leaf.getNamespaceURI("pre"));
+        
+        middle.detach();
+        assertNull(leaf.getNamespaceURI("pre"));
+        second.appendChild(middle);
+        assertEquals("http://www.example.org/2", leaf.getNamespaceURI("pre"));
+        
+        second.removeChildren();
+        first.insertChild(middle, 0);
+        assertEquals("http://www.example.org/1", leaf.getNamespaceURI("pre"));
+        
+        Document doc = new Document(first);
+        assertEquals("http://www.example.org/1", leaf.getNamespaceURI("pre"));
+        doc.setRootElement(new Element("root"));
+        second.appendChild(first);
+        assertEquals("http://www.example.org/1", leaf.getNamespaceURI("pre"));
+        first.removeChild(middle);
+        assertNull(leaf.getNamespaceURI("pre"));
+        
+    }
+    
     
-}
\ No newline at end of file
+    public void testInScopeNamespacesOfDeepDocument() {
+        
+        Element root = new Element("root");
+        root.addNamespaceDeclaration("a", "http://www.example.org/a");
+        Element current = root;
+        for (int i = 0; i < 10000; i++) {
+            Element child = new Element("child");
+            current.appendChild(child);
+            current = child;
+        }
+        assertEquals("http://www.example.org/a", current.getNamespaceURI("a"));
+        root.addNamespaceDeclaration("b", "http://www.example.org/b");
+        assertEquals("http://www.example.org/b", current.getNamespaceURI("b"));
+        
+    }
+
+
+}
@@ -20,6 +20,10 @@
 
 package nu.xom.tests;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import nu.xom.Comment;
 import nu.xom.CycleException;
 import nu.xom.DocType;
@@ -28,7 +32,9 @@ import nu.xom.Element;
 import nu.xom.IllegalAddException;
 import nu.xom.MultipleParentException;
 import nu.xom.NoSuchChildException;
+import nu.xom.WellformednessException;
 import nu.xom.Node;
+import nu.xom.Nodes;
 import nu.xom.ProcessingInstruction;
 import nu.xom.Text;
 
@@ -39,7 +45,7 @@ import nu.xom.Text;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.0
+ * @version 1.5.0
  *
  */
 public class ParentNodeTest extends XOMTestCase {
@@ -350,6 +356,40 @@ public class ParentNodeTest extends XOMTestCase {
     } 
 
     
+    // Positions are checked before they're translated past the gap
+    // left by a removal, and the exception reports the position
+    // that was asked for even after the JIT has compiled the call.
+    public void testOutOfRangePositionsAroundTheGap() {
+        
+        for (int i = 0; i < 4; i++) empty.appendChild(new Element("e" + i));
+        empty.removeChild(1);
+        int[] positions = {-1, 3, 4, 100};
+        for (int pass = 0; pass < 20000; pass++) {
+            for (int i = 0; i < positions.length; i++) {
+                try {
+                    empty.getChild(positions[i]);
+                    fail("Got child at " + positions[i]);
+                }
+                catch (IndexOutOfBoundsException success) {
+                    assertNotNull(success.getMessage());
+                    assertTrue(success.getMessage().indexOf(
+                      String.valueOf(positions[i])) >= 0);
+                }
+            }
+        }
+        try {
+            empty.removeChild(3);
+            fail("Removed child at 3");
+        }
+        catch (IndexOutOfBoundsException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals(3, empty.getChildCount());
+        assertEquals("e3", ((Element) empty.getChild(2)).getLocalName());
+        
+    }
+
+    
     public void testRemoveChild() {
         
         try {
@@ -555,4 +595,387 @@ public class ParentNodeTest extends XOMTestCase {
     }
     
     
+    public void testRemoveManyChildrenFromFront() {
+        
+        Element parent = new Element("parent");
+        Element[] kids = new Element[10000];
+        for (int i = 0; i < kids.length; i++) {
+            kids[i] = new Element("c" + i);
+            parent.appendChild(kids[i]);
+        }
+        for (int i = 0; i < kids.length; i++) {
+            assertEquals(0, parent.indexOf(kids[i]));
+            kids[i].detach();
+            assertNull(kids[i].getParent());
+            assertEquals(kids.length - i - 1, parent.getChildCount());
+        }
+        parent.appendChild(kids[0]);
+        assertEquals(kids[0], parent.getChild(0));
+        
+    }
+    
+    
+    public void testRemoveManyChildrenFromBack() {
+        
+        Element parent = new Element("parent");
+        Element[] kids = new Element[10000];
+        for (int i = 0; i < kids.length; i++) {
+            kids[i] = new Element("c" + i);
+            parent.appendChild(kids[i]);
+        }
+        for (int i = kids.length - 1; i >= 0; i--) {
+            assertEquals(i, parent.indexOf(kids[i]));
+            parent.removeChild(kids[i]);
+        }
+        assertEquals(0, parent.getChildCount());
+        
+    }
+    
+    
+    public void testReplaceManyChildren() {
+        
+        Element parent = new Element("parent");
+        for (int i = 0; i < 10000; i++) {
+            parent.appendChild(new Element("old"));
+        }
+        for (int i = 0; i < 10000; i++) {
+            Node old = parent.getChild(i);
+            parent.replaceChild(old, new Text(String.valueOf(i % 10)));
+            assertNull(old.getParent());
+        }
+        assertEquals(10000, parent.getChildCount());
+        assertEquals("0123456789", parent.getValue().substring(0, 10));
+        
+    }
+    
+    
+    public void testInsertAndRemoveAtScatteredPositions() {
+        
+        Element parent = new Element("parent");
+        List<Node> expected = new ArrayList<Node>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) != 0) {
+                int position = random.nextInt(expected.size() + 1);
+                Node node = new Comment(String.valueOf(i));
+                parent.insertChild(node, position);
+                expected.add(position, node);
+            }
+            else {
+                int position = random.nextInt(expected.size());
+                if (random.nextBoolean()) {
+                    assertSame(expected.remove(position), parent.removeChild(position));
+                }
+                else {
+                    Node node = expected.remove(position);
+                    assertEquals(position, parent.indexOf(node));
+                    parent.removeChild(node);
+                }
+            }
+        }
+        assertEquals(expected.size(), parent.getChildCount());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), parent.getChild(i));
+            assertEquals(i, parent.indexOf(expected.get(i)));
+        }
+        
+    }
+    
+    
+    public void testGetChildPastEnd() {
+        
+        Element parent = new Element("parent");
+        parent.appendChild("a");
+        parent.appendChild("b");
+        parent.appendChild("c");
+        parent.removeChild(0);
+        try {
+            parent.getChild(2);
+            fail("Got child past end");
+        }
+        catch (IndexOutOfBoundsException success) {
+            // success
+        }
+        try {
+            parent.getChild(-1);
+            fail("Got child at negative position");
+        }
+        catch (IndexOutOfBoundsException success) {
+            // success
+        }
+        
+    }
+    
+    
+    public void testIndexOfNonChild() {
+        
+        Element parent = new Element("parent");
+        Element other = new Element("other");
+        Text text = new Text("text");
+        other.appendChild(text);
+        parent.appendChild("data");
+        assertEquals(-1, parent.indexOf(text));
+        assertEquals(-1, parent.indexOf(null));
+        assertEquals(-1, parent.indexOf(parent));
+        
+    }
+
+    
+    public void testMoveChildrenInBulk() {
+        
+        Element source = new Element("source");
+        for (int i = 0; i < 1000; i++) {
+            source.appendChild(new Element("e" + i));
+        }
+        Element target = new Element("target");
+        target.appendChild("first");
+        target.appendChild("last");
+        
+        Nodes moved = source.removeChildren(100, 900);
+        assertEquals(800, moved.size());
+        assertEquals(200, source.getChildCount());
+        assertEquals("e99", ((Element) source.getChild(99)).getLocalName());
+        assertEquals("e900", ((Element) source.getChild(100)).getLocalName());
+        assertNull(moved.get(0).getParent());
+        
+        target.insertChildren(moved, 1);
+        assertEquals(802, target.getChildCount());
+        assertEquals("first", target.getChild(0).getValue());
+        assertEquals("last", target.getChild(801).getValue());
+        for (int i = 0; i < 800; i++) {
+            Node child = target.getChild(i + 1);
+            assertSame(moved.get(i), child);
+            assertSame(target, child.getParent());
+            assertEquals(i + 1, target.indexOf(child));
+        }
+        
+        target.appendChildren(source.removeChildren(0, source.getChildCount()));
+        assertEquals(0, source.getChildCount());
+        assertEquals(1002, target.getChildCount());
+        assertEquals("e999", ((Element) target.getChild(1001)).getLocalName());
+        
+    }
+    
+    
+    public void testBulkOperationsAtScatteredPositions() {
+        
+        Element parent = new Element("parent");
+        List<Node> expected = new ArrayList<Node>();
+        Random random = new Random(17);
+        for (int round = 0; round < 200; round++) {
+            if (expected.isEmpty() || random.nextBoolean()) {
+                int count = random.nextInt(20);
+                int position = random.nextInt(expected.size() + 1);
+                Nodes nodes = new Nodes();
+                for (int i = 0; i < count; i++) {
+                    Text text = new Text(round + "." + i);
+                    nodes.append(text);
+                    expected.add(position + i, text);
+                }
+                parent.insertChildren(nodes, position);
+            }
+            else {
+                int from = random.nextInt(expected.size());
+                int to = from + random.nextInt(expected.size() - from + 1);
+                Nodes removed = parent.removeChildren(from, to);
+                assertEquals(to - from, removed.size());
+                for (int i = from; i < to; i++) {
+                    assertSame(expected.remove(from), removed.get(i - from));
+                }
+            }
+            assertEquals(expected.size(), parent.getChildCount());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), parent.getChild(i));
+        }
+        
+    }
+    
+    
+    public void testInsertChildrenIsAtomic() {
+        
+        Element parent = new Element("parent");
+        parent.appendChild("text");
+        Element attached = new Element("attached");
+        new Element("other").appendChild(attached);
+        Element fresh = new Element("fresh");
+        
+        Nodes nodes = new Nodes();
+        nodes.append(fresh);
+        nodes.append(attached);
+        try {
+            parent.appendChildren(nodes);
+            fail("Inserted node with a parent");
+        }
+        catch (MultipleParentException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals(1, parent.getChildCount());
+        assertNull(fresh.getParent());
+        
+        nodes = new Nodes();
+        nodes.append(fresh);
+        nodes.append(fresh);
+        try {
+            parent.appendChildren(nodes);
+            fail("Inserted node twice");
+        }
+        catch (MultipleParentException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals(1, parent.getChildCount());
+        
+        nodes = new Nodes();
+        nodes.append(fresh);
+        nodes.append(new DocType("root"));
+        try {
+            parent.appendChildren(nodes);
+            fail("Inserted DocType in element");
+        }
+        catch (IllegalAddException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals(1, parent.getChildCount());
+        assertNull(fresh.getParent());
+        
+    }
+    
+    
+    public void testInsertChildrenCycle() {
+        
+        Element unrelated = new Element("unrelated");
+        Element parent = new Element("parent");
+        Element child = new Element("child");
+        parent.appendChild(child);
+        Nodes nodes = new Nodes();
+        nodes.append(new Text("text"));
+        nodes.append(unrelated);
+        child.appendChildren(nodes);
+        assertSame(child, unrelated.getParent());
+        
+        Element root = new Element("root");
+        Element middle = new Element("middle");
+        root.appendChild(middle);
+        nodes = new Nodes();
+        nodes.append(new Text("text"));
+        nodes.append(root);
+        try {
+            middle.appendChildren(nodes);
+            fail("Allowed cycle");
+        }
+        catch (CycleException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals(0, middle.getChildCount());
+        
+        nodes = new Nodes();
+        nodes.append(new Comment("comment"));
+        nodes.append(middle);
+        middle.detach();
+        try {
+            middle.appendChildren(nodes);
+            fail("Added node to itself");
+        }
+        catch (CycleException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+    
+    
+    public void testBulkOperationsOnDocument() {
+        
+        Element root = new Element("root");
+        Document doc = new Document(root);
+        Nodes nodes = new Nodes();
+        nodes.append(new DocType("root"));
+        nodes.append(new Comment("before"));
+        doc.insertChildren(nodes, 0);
+        assertEquals(3, doc.getChildCount());
+        assertNotNull(doc.getDocType());
+        assertEquals(2, doc.indexOf(root));
+        
+        nodes = new Nodes();
+        nodes.append(new Comment("after"));
+        nodes.append(new Element("second"));
+        try {
+            doc.appendChildren(nodes);
+            fail("Added second root element");
+        }
+        catch (IllegalAddException success) {
+            assertNotNull(success.getMessage());
+        }
+        assertEquals(3, doc.getChildCount());
+        
+        try {
+            doc.removeChildren(1, 3);
+            fail("Removed root element");
+        }
+        catch (WellformednessException success) {
+            assertNotNull(success.getMessage());
+        }
+        Nodes removed = doc.removeChildren(0, 2);
+        assertEquals(2, removed.size());
+        assertNull(doc.getDocType());
+        assertEquals(root, doc.getChild(0));
+        
+    }
+    
+    
+    public void testBulkIDs() {
+        
+        Element root = new Element("root");
+        Document doc = new Document(root);
+        Nodes nodes = new Nodes();
+        for (int i = 0; i < 3; i++) {
+            Element e = new Element("e");
+            e.addAttribute(new nu.xom.Attribute("xml:id", 
+              "http://www.w3.org/XML/1998/namespace", "id" + i));
+            nodes.append(e);
+        }
+        assertNull(doc.getElementByID("id1"));
+        root.appendChildren(nodes);
+        assertSame(nodes.get(1), doc.getElementByID("id1"));
+        root.removeChildren(0, 2);
+        assertNull(doc.getElementByID("id1"));
+        assertSame(nodes.get(2), doc.getElementByID("id2"));
+        
+    }
+    
+    
+    public void testBadRemoveChildrenRanges() {
+        
+        Element parent = new Element("parent");
+        parent.appendChild("a");
+        parent.appendChild("b");
+        int[][] ranges = {{-1, 1}, {0, 3}, {2, 1}};
+        for (int i = 0; i < ranges.length; i++) {
+            try {
+                parent.removeChildren(ranges[i][0], ranges[i][1]);
+                fail("Removed children " + ranges[i][0] + " to " + ranges[i][1]);
+            }
+            catch (IndexOutOfBoundsException success) {
+                assertNotNull(success.getMessage());
+            }
+        }
+        assertEquals(0, parent.removeChildren(1, 1).size());
+        assertEquals(2, parent.getChildCount());
+        try {
+            parent.insertChildren(new Nodes(new Text("c")), 3);
+            fail("Inserted past end");
+        }
+        catch (IndexOutOfBoundsException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            parent.insertChildren(null, 0);
+            fail("Inserted null");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+
+
 }
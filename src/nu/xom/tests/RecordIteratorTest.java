@@ -0,0 +1,421 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.NoSuchElementException;
+
+import nu.xom.Builder;
+import nu.xom.Document;
+import nu.xom.Element;
+import nu.xom.IllegalNameException;
+import nu.xom.NodeFactory;
+import nu.xom.Nodes;
+import nu.xom.ParsingException;
+import nu.xom.RecordIterator;
+import nu.xom.Text;
+import nu.xom.XMLException;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.XMLReaderFactory;
+
+/**
+ * <p>
+ * Unit tests for streaming elements out of a document
+ * with <code>Builder.stream</code>.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public class RecordIteratorTest extends XOMTestCase {
+
+
+    private Builder builder = new Builder();
+
+    private String feed = "<?xml version='1.0'?>\n"
+      + "<!DOCTYPE feed [<!ENTITY e 'entity'>]>\n"
+      + "<!-- comment -->"
+      + "<feed xmlns='http://www.w3.org/2005/Atom'>"
+      + "<title>Feed</title>"
+      + "<entry id='1'><title>One</title></entry>"
+      + "<other><entry id='x'/></other>"
+      + "<entry id='2'><title>Two &e;</title><!--c--><?pi data?></entry>"
+      + "<entry id='3'/>"
+      + "</feed>";
+
+
+    public RecordIteratorTest(String name) {
+        super(name);
+    }
+
+
+    private static InputStream toStream(String data)
+      throws UnsupportedEncodingException {
+        return new ByteArrayInputStream(data.getBytes("UTF-8"));
+    }
+
+
+    public void testStream() throws IOException {
+
+        RecordIterator entries = builder.stream(toStream(feed), "/feed/entry");
+
+        assertTrue(entries.hasNext());
+        Element entry = entries.next();
+        assertEquals("entry", entry.getQualifiedName());
+        assertEquals("http://www.w3.org/2005/Atom", entry.getNamespaceURI());
+        assertEquals("1", entry.getAttributeValue("id"));
+        assertEquals("One", entry.getValue());
+        assertNull(entry.getParent());
+
+        entry = entries.next();
+        assertEquals("2", entry.getAttributeValue("id"));
+        assertEquals(3, entry.getChildCount());
+        assertEquals("Two entity", entry.getValue());
+
+        entry = entries.next();
+        assertEquals("3", entry.getAttributeValue("id"));
+        assertEquals(0, entry.getChildCount());
+
+        assertFalse(entries.hasNext());
+        assertFalse(entries.hasNext());
+        try {
+            entries.next();
+            fail("Went past end");
+        }
+        catch (NoSuchElementException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testWildcard() throws IOException {
+
+        RecordIterator elements = builder.stream(toStream(feed), "/*/*");
+        int count = 0;
+        while (elements.hasNext()) {
+            elements.next();
+            count++;
+        }
+        assertEquals(5, count);
+
+    }
+
+
+    public void testStreamRootElement()
+      throws IOException, ParsingException {
+
+        RecordIterator roots = builder.stream(toStream(feed), "/feed");
+        Element root = roots.next();
+        assertNull(root.getParent());
+        assertFalse(roots.hasNext());
+
+        Document doc = builder.build(toStream(feed));
+        assertEquals(doc.getRootElement(), root);
+
+    }
+
+
+    public void testRootDoesNotMatch() throws IOException {
+
+        RecordIterator entries = builder.stream(toStream(feed), "/rss/entry");
+        assertFalse(entries.hasNext());
+
+    }
+
+
+    public void testMatchesAreComplete()
+      throws IOException, ParsingException {
+
+        Document doc = builder.build(toStream(feed));
+        Element expected = doc.getRootElement().getChildElements().get(3);
+
+        RecordIterator entries = builder.stream(toStream(feed), "/feed/entry");
+        entries.next();
+        assertEquals(expected, entries.next());
+        entries.close();
+
+    }
+
+
+    public void testBaseURI() throws IOException {
+
+        RecordIterator entries = builder.stream(toStream(feed),
+          "http://www.example.com/feed.xml", "/feed/entry");
+        assertEquals("http://www.example.com/feed.xml",
+          entries.next().getBaseURI());
+        entries.close();
+
+    }
+
+
+    public void testMalformedDocument() throws IOException {
+
+        String data = "<feed><entry/><entry/><entry></feed>";
+        RecordIterator entries = builder.stream(toStream(data), "/feed/entry");
+        entries.next();
+        entries.next();
+        try {
+            entries.hasNext();
+            fail("Missed well-formedness error");
+        }
+        catch (XMLException success) {
+            assertTrue(success.getCause() instanceof ParsingException);
+        }
+        assertFalse(entries.hasNext());
+
+    }
+
+
+    public void testCloseEarlyAndReuseBuilder()
+      throws IOException, ParsingException {
+
+        StringBuilder data = new StringBuilder("<feed>");
+        for (int i = 0; i < 1000; i++) {
+            data.append("<entry>").append(i).append("</entry>");
+        }
+        data.append("</feed>");
+
+        RecordIterator entries = builder.stream(
+          toStream(data.toString()), "/feed/entry");
+        assertEquals("0", entries.next().getValue());
+        entries.close();
+        assertFalse(entries.hasNext());
+        entries.close();
+
+        Document doc = builder.build(toStream(feed));
+        assertEquals("feed", doc.getRootElement().getQualifiedName());
+
+    }
+
+
+    // Counts the bytes read from it, and remembers
+    // which thread read them
+    private static class WatchedStream extends ByteArrayInputStream {
+
+        int read = 0;
+        Thread reader = null;
+        boolean closed = false;
+
+        WatchedStream(byte[] data) {
+            super(data);
+        }
+
+        public int read() {
+            reader = Thread.currentThread();
+            int result = super.read();
+            if (result != -1) read++;
+            return result;
+        }
+
+        public int read(byte[] data, int offset, int length) {
+            reader = Thread.currentThread();
+            int result = super.read(data, offset, length);
+            if (result > 0) read += result;
+            return result;
+        }
+
+        public void close() {
+            closed = true;
+        }
+
+    }
+
+
+    private static byte[] manyEntries(int count)
+      throws UnsupportedEncodingException {
+
+        StringBuilder data = new StringBuilder("<feed>");
+        for (int i = 0; i < count; i++) {
+            data.append("<entry>").append(i).append("</entry>");
+        }
+        data.append("</feed>");
+        return data.toString().getBytes("UTF-8");
+
+    }
+
+
+    public void testParsesInCallersThread() throws IOException {
+
+        byte[] data = manyEntries(100000);
+        WatchedStream in = new WatchedStream(data);
+        RecordIterator entries = builder.stream(in, "/feed/entry");
+        assertEquals(0, in.read);
+        assertEquals("0", entries.next().getValue());
+        assertEquals(Thread.currentThread(), in.reader);
+        assertTrue(in.read < data.length / 10);
+        entries.close();
+        assertTrue(in.closed);
+
+    }
+
+
+    public void testOtherParsersParseInBackground()
+      throws IOException, ParsingException, SAXException {
+
+        Builder other = new Builder(XMLReaderFactory.createXMLReader(
+          "org.apache.xerces.parsers.SAXParser"));
+        WatchedStream in = new WatchedStream(manyEntries(10000));
+        RecordIterator entries = other.stream(in, "/feed/entry");
+        assertEquals("0", entries.next().getValue());
+        assertEquals("1", entries.next().getValue());
+        assertNotSame(Thread.currentThread(), in.reader);
+        entries.close();
+        assertFalse(entries.hasNext());
+
+        Document doc = other.build(toStream(feed));
+        assertEquals("feed", doc.getRootElement().getQualifiedName());
+
+    }
+
+
+    public void testManyRecords() throws IOException {
+
+        final int records = 200000;
+        InputStream in = new InputStream() {
+
+            private byte[] chunk = new byte[0];
+            private int position = 0;
+            private int count = -1;
+
+            public int read() {
+                if (position == chunk.length) {
+                    if (count > records) return -1;
+                    else if (count == -1) chunk = "<feed>".getBytes();
+                    else if (count == records) chunk = "</feed>".getBytes();
+                    else {
+                        chunk = ("<entry id='" + count
+                          + "'><title>A record</title></entry>\n").getBytes();
+                    }
+                    count++;
+                    position = 0;
+                }
+                return chunk[position++];
+            }
+
+        };
+
+        RecordIterator entries = builder.stream(in, "/feed/entry");
+        int count = 0;
+        while (entries.hasNext()) {
+            Element entry = entries.next();
+            assertEquals(String.valueOf(count), entry.getAttributeValue("id"));
+            count++;
+        }
+        assertEquals(records, count);
+
+    }
+
+
+    public void testFactoryBuildsMatches() throws IOException {
+
+        NodeFactory factory = new NodeFactory() {
+            public Nodes makeText(String data) {
+                return new Nodes(new Text(data.toUpperCase()));
+            }
+        };
+        Builder builder = new Builder(factory);
+        RecordIterator entries = builder.stream(toStream(feed), "/feed/entry");
+        assertEquals("ONE", entries.next().getValue());
+        entries.close();
+
+    }
+
+
+    public void testFactorySkipsElements() throws IOException {
+
+        NodeFactory factory = new NodeFactory() {
+            public Element startMakingElement(String name, String namespace) {
+                if (name.equals("title")) return null;
+                return super.startMakingElement(name, namespace);
+            }
+        };
+        Builder builder = new Builder(factory);
+        RecordIterator entries = builder.stream(toStream(feed), "/feed/entry");
+        Element entry = entries.next();
+        assertEquals(1, entry.getChildCount());
+        assertEquals("One", entry.getValue());
+        assertEquals("2", entries.next().getAttributeValue("id"));
+        assertEquals("3", entries.next().getAttributeValue("id"));
+        assertFalse(entries.hasNext());
+
+    }
+
+
+    public void testRemove() throws IOException {
+
+        RecordIterator entries = builder.stream(toStream(feed), "/feed/entry");
+        entries.next();
+        try {
+            entries.remove();
+            fail("Removed streamed element");
+        }
+        catch (UnsupportedOperationException success) {
+            assertNotNull(success.getMessage());
+        }
+        entries.close();
+
+    }
+
+
+    public void testBadPaths() throws IOException {
+
+        try {
+            builder.stream(toStream(feed), "feed/entry");
+            fail("Allowed relative path");
+        }
+        catch (IllegalArgumentException success) {
+            assertNotNull(success.getMessage());
+        }
+
+        try {
+            builder.stream(toStream(feed), "/feed//entry");
+            fail("Allowed empty step");
+        }
+        catch (IllegalNameException success) {
+            assertNotNull(success.getMessage());
+        }
+
+        try {
+            builder.stream(toStream(feed), null);
+            fail("Allowed null path");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+
+        try {
+            builder.stream(null, "/feed");
+            fail("Allowed null stream");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+}
@@ -53,7 +53,7 @@ import java.io.UnsupportedEncodingException;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.2
+ * @version 1.5.0
  *
  */
 public class SerializerTest extends XOMTestCase {
@@ -312,6 +312,50 @@ public class SerializerTest extends XOMTestCase {
     }
 
     
+    public void testEscapeUTF8TextDirectly() throws IOException {
+
+        root.appendChild("a<b>c&d\r\ne\u00E9\u20AC\uD834\uDD1E ");
+        Serializer serializer = new Serializer(out, "UTF-8");
+        serializer.write(doc);
+        String result = out.toString("UTF-8");
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n"
+          + "<root>a&lt;b&gt;c&amp;d&#x0D;\ne\u00E9\u20AC\uD834\uDD1E </root>\r\n",
+          result);
+
+    }
+
+
+    public void testEscapeASCIITextDirectly() throws IOException {
+
+        root.appendChild("a<b>c&d\r\n");
+        root.appendChild("e\u00E9\u20AC\uD834\uDD1E");
+        Serializer serializer = new Serializer(out, "US-ASCII");
+        serializer.write(doc);
+        String result = out.toString("US-ASCII");
+        assertEquals("<?xml version=\"1.0\" encoding=\"US-ASCII\"?>\r\n"
+          + "<root>a&lt;b&gt;c&amp;d&#x0D;\ne&#xE9;&#x20AC;&#x1D11E;</root>\r\n",
+          result);
+
+    }
+
+
+    public void testColumnNumberAfterDirectUTF8Text() throws IOException {
+
+        final int[] column = new int[1];
+        root.appendChild("\u00E9\uD834\uDD1E<");
+        Serializer serializer = new Serializer(out, "UTF-8") {
+            protected void write(Text text) throws IOException {
+                super.write(text);
+                column[0] = getColumnNumber();
+            }
+        };
+        serializer.write(doc);
+        // "<root>" plus two characters plus "&lt;"
+        assertEquals(12, column[0]);
+
+    }
+
+
     public void testCDATASectionEndDelimiter() throws IOException {
 
         root.appendChild("]]>");    
@@ -2858,5 +2902,78 @@ public class SerializerTest extends XOMTestCase {
         }
         
     }
+    
+    
+    private String serialize(Document doc, String encoding, int maxLength) 
+      throws IOException {
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serializer serializer = new Serializer(out, encoding);
+        serializer.setMaxLength(maxLength);
+        serializer.write(doc);
+        return new String(out.toByteArray(), encoding);
+        
+    }
+    
+    
+    public void testEscapesAtEndsOfRuns() throws IOException {
+        
+        Element root = new Element("root");
+        root.appendChild("&abc<");
+        root.addAttribute(new Attribute("a", "\"x\t"));
+        root.addAttribute(new Attribute("b", "<y>&"));
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n"
+          + "<root a=\"&quot;x&#x09;\" b=\"&lt;y&gt;&amp;\">&amp;abc&lt;</root>\r\n",
+          serialize(new Document(root), "UTF-8", 0));
+        
+    }
+    
+    
+    public void testMaxLengthAroundEscapedRuns() throws IOException {
+        
+        // Lines break inside a run of escaped characters 
+        // and right after one.
+        Element root = new Element("root");
+        root.appendChild("aaaa bbbb cc&<>&dd eeee ffff gggg &&&& hhhh iiii");
+        root.addAttribute(new Attribute("a", 
+          "aaaa bbbb cc&<>\"dd eeee ffff gggg \"\"\"\" hhhh"));
+        assertEquals("<?xml version=\"1.0\"\r\nencoding=\"UTF-8\"?>\r\n"
+          + "<root a=\"aaaa\r\nbbbb cc&amp;&lt;&gt;&quot;dd\r\n"
+          + "eeee ffff gggg\r\n&quot;&quot;&quot;&quot;\r\nhhhh\">aaaa\r\n"
+          + "bbbb cc&amp;&lt;&gt;&amp;dd\r\neeee ffff gggg\r\n"
+          + "&amp;&amp;&amp;&amp;\r\nhhhh iiii</root>\r\n",
+          serialize(new Document(root), "UTF-8", 20));
+        
+    }
+    
+    
+    public void testEscapeTableOfEachWriter() throws IOException {
+        
+        String data = "\u00E9\u0105\u03B1\u0436\u20AC\u05D0&x<";
+        String[][] expected = {
+          {"ISO-8859-1", "\u00E9&#x105;&#x3B1;&#x436;&#x20AC;&#x5D0;"},
+          {"ISO-8859-2", "\u00E9\u0105&#x3B1;&#x436;&#x20AC;&#x5D0;"},
+          {"ISO-8859-5", "&#xE9;&#x105;&#x3B1;\u0436&#x20AC;&#x5D0;"},
+          {"ISO-8859-7", "&#xE9;&#x105;\u03B1&#x436;&#x20AC;&#x5D0;"},
+          {"ISO-8859-8", "&#xE9;&#x105;&#x3B1;&#x436;&#x20AC;\u05D0"},
+          {"ISO-8859-15", "\u00E9&#x105;&#x3B1;&#x436;\u20AC&#x5D0;"},
+          {"US-ASCII", "&#xE9;&#x105;&#x3B1;&#x436;&#x20AC;&#x5D0;"},
+          {"UTF-16", "\u00E9\u0105\u03B1\u0436\u20AC\u05D0"},
+          {"UTF-8", "\u00E9\u0105\u03B1\u0436\u20AC\u05D0"}
+        };
+        for (int i = 0; i < expected.length; i++) {
+            String encoding = expected[i][0];
+            String escaped = expected[i][1] + "&amp;x&lt;";
+            Element root = new Element("root");
+            root.appendChild(data);
+            root.addAttribute(new Attribute("a", data));
+            assertEquals(encoding, 
+              "<?xml version=\"1.0\" encoding=\"" + encoding + "\"?>\r\n"
+              + "<root a=\"" + escaped + "\">" + escaped + "</root>\r\n",
+              serialize(new Document(root), encoding, 0));
+        }
+        
+    }
+    
 
 }
@@ -0,0 +1,204 @@
+/* Copyright 2026 Elliotte Rusty Harold
+
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public
+   License as published by the Free Software Foundation.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.tests;
+
+import nu.xom.Attribute;
+import nu.xom.Comment;
+import nu.xom.Document;
+import nu.xom.Element;
+import nu.xom.IllegalCharacterDataException;
+import nu.xom.IllegalNameException;
+import nu.xom.MalformedURIException;
+import nu.xom.Text;
+import nu.xom.TrustedNodeFactory;
+
+/**
+ * <p>
+ * Unit tests for creating nodes without checking them.
+ * </p>
+ *
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public class TrustedNodeFactoryTest extends XOMTestCase {
+
+
+    private TrustedNodeFactory factory = new TrustedNodeFactory(false);
+    private static final String XML_NAMESPACE 
+      = "http://www.w3.org/XML/1998/namespace";
+
+
+    public TrustedNodeFactoryTest(String name) {
+        super(name);
+    }
+
+
+    public void testSameAsConstructors() {
+
+        Element expected = new Element("pre:root", "http://www.example.org/");
+        expected.addAttribute(new Attribute("a", "1"));
+        expected.addAttribute(new Attribute("pre:b", "http://www.example.org/", "2"));
+        expected.addAttribute(new Attribute("c", "", "3", Attribute.Type.CDATA));
+        expected.addAttribute(new Attribute("xml:id", XML_NAMESPACE, "  p1 "));
+        Element child = new Element("child");
+        child.appendChild(new Text("text & more"));
+        child.appendChild(new Comment(" note "));
+        expected.appendChild(child);
+
+        Element actual = factory.createElement("pre:root", "http://www.example.org/");
+        actual.addAttribute(factory.createAttribute("a", "1"));
+        actual.addAttribute(factory.createAttribute("pre:b", "http://www.example.org/", "2"));
+        actual.addAttribute(factory.createAttribute("c", "", "3", Attribute.Type.CDATA));
+        actual.addAttribute(factory.createAttribute("xml:id", XML_NAMESPACE, "  p1 "));
+        Element trustedChild = factory.createElement("child");
+        trustedChild.appendChild(factory.createText("text & more"));
+        trustedChild.appendChild(factory.createComment(" note "));
+        actual.appendChild(trustedChild);
+
+        assertEquals(expected, actual);
+        assertEquals(new Document(expected).toXML(), new Document(actual).toXML());
+        
+        Attribute id = actual.getAttribute("id", XML_NAMESPACE);
+        assertEquals("p1", id.getValue());
+        assertEquals(Attribute.Type.ID, id.getType());
+        assertEquals("pre", actual.getNamespacePrefix());
+        assertEquals("root", actual.getLocalName());
+        assertEquals("b", actual.getAttribute(1).getLocalName());
+
+    }
+
+
+    public void testNulls() {
+
+        assertEquals("", factory.createElement("name", null).getNamespaceURI());
+        assertEquals("", factory.createText(null).getValue());
+        assertEquals("", factory.createComment(null).getValue());
+        assertEquals("", factory.createAttribute("name", null, "value").getNamespaceURI());
+
+    }
+
+
+    public void testNodesAreCheckedAfterCreation() {
+
+        Text text = factory.createText("data");
+        try {
+            text.setValue("\u0000");
+            fail("Set illegal data on trusted text");
+        }
+        catch (IllegalCharacterDataException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+        Element element = factory.createElement("name");
+        try {
+            element.setLocalName("1name");
+            fail("Set illegal name on trusted element");
+        }
+        catch (IllegalNameException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testNotChecked() {
+        
+        // These are wrong, and that's the caller's problem.
+        assertEquals("1name", factory.createElement("1name").getLocalName());
+        assertEquals("\u0000", factory.createText("\u0000").getValue());
+        
+    }
+
+
+    public void testElementNamespaceURIStillChecked() {
+        
+        Element element = factory.createElement("pre:name", "http://www.example.org/");
+        assertEquals("pre", element.getNamespacePrefix());
+        assertEquals("name", element.getLocalName());
+        assertEquals("http://www.example.org/", element.getNamespaceURI());
+        try {
+            factory.createElement("name", "not absolute");
+            fail("Created element with relative namespace URI");
+        }
+        catch (MalformedURIException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+
+
+    public void testVerifying() {
+
+        TrustedNodeFactory verifying = new TrustedNodeFactory(true);
+        assertTrue(verifying.isVerifying());
+        assertFalse(factory.isVerifying());
+        try {
+            verifying.createElement("1name");
+            fail("Created element with illegal name");
+        }
+        catch (IllegalNameException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            verifying.createElement("name", "not absolute");
+            fail("Created element with relative namespace URI");
+        }
+        catch (MalformedURIException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            verifying.createAttribute("name", "\u0000");
+            fail("Created attribute with illegal value");
+        }
+        catch (IllegalCharacterDataException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            verifying.createText("\uFFFF");
+            fail("Created illegal text");
+        }
+        catch (IllegalCharacterDataException success) {
+            assertNotNull(success.getMessage());
+        }
+
+    }
+
+
+    public void testVerifyProperty() {
+
+        String key = "nu.xom.TrustedNodeFactory.verify";
+        String old = System.getProperty(key);
+        try {
+            System.setProperty(key, "true");
+            assertTrue(new TrustedNodeFactory().isVerifying());
+            System.setProperty(key, "false");
+            assertFalse(new TrustedNodeFactory().isVerifying());
+        }
+        finally {
+            if (old == null) System.clearProperty(key);
+            else System.setProperty(key, old);
+        }
+
+    }
+
+
+}
@@ -41,7 +41,7 @@ import java.io.IOException;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.4.0
+ * @version 1.5.0
  *
  */
 public class VerifierTest extends XOMTestCase {
@@ -600,6 +600,66 @@ public class VerifierTest extends XOMTestCase {
     }
 
     
+    // Far more URIs than the cache of verified URIs has slots,
+    // so some of them have to share a slot.
+    public void testManyNamespaceURIs() {
+        
+        String[] uris = new String[1000];
+        for (int i = 0; i < uris.length; i++) {
+            uris[i] = "http://www.example.org/namespaces/" + i;
+        }
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < uris.length; i++) {
+                Element e = new Element("pre:e", uris[i]);
+                assertEquals(uris[i], e.getNamespaceURI());
+                Attribute a = new Attribute("pre:a", uris[i], "value");
+                assertEquals(uris[i], a.getNamespaceURI());
+            }
+        }
+        
+        // none of those makes a similar malformed URI acceptable
+        String uri = "http://www.example.org/namespaces/{0}";
+        try {
+            new Element("pre:e", uri);
+            fail("Allowed " + uri + " as URI");
+        }
+        catch (MalformedURIException success) {
+            assertEquals(uri, success.getData());
+        }
+            
+    }
+
+    
+    public void testEqualButNotIdenticalNamespaceURIs() {
+        
+        String first = new String("http://www.example.org/equal");
+        String second = new String(first);
+        assertNotSame(first, second);
+        
+        Element e = new Element("pre:e", first);
+        assertEquals(first, e.getNamespaceURI());
+        // the second string is found in the cache by equals
+        e = new Element("pre:e", second);
+        assertEquals(first, e.getNamespaceURI());
+        e.setNamespaceURI(new String(first));
+        assertEquals(first, e.getNamespaceURI());
+        Attribute a = new Attribute("pre:a", new String(second), "");
+        assertEquals(first, a.getNamespaceURI());
+        
+        // a malformed URI with the same length is still rejected
+        String uri = new String("http://www.example.org/equa|");
+        assertEquals(first.length(), uri.length());
+        try {
+            e.setNamespaceURI(uri);
+            fail("Allowed " + uri + " as URI");
+        }
+        catch (MalformedURIException success) {
+            assertEquals(uri, success.getData());
+        }
+            
+    }
+
+    
     public void testFragmentIDContainsQuestionMark() {
         
         Element e = new Element("e");
@@ -43,6 +43,7 @@ public class XOMTests {
         result.addTest(new TestSuite(IDTest.class));
         result.addTest(new TestSuite(XOMTestCaseTest.class));
         result.addTest(new TestSuite(XPathTest.class));
+        result.addTest(new TestSuite(XPathExpressionTest.class));
         result.addTest(new TestSuite(VerifierTest.class));
         result.addTest(new TestSuite(SubclassTest.class));
         result.addTest(new TestSuite(NodeFactoryTest.class));
@@ -54,6 +55,10 @@ public class XOMTests {
         result.addTest(new TestSuite(CommentTest.class));
         result.addTest(new TestSuite(ProcessingInstructionTest.class));
         result.addTest(new TestSuite(DocumentTest.class));
+        result.addTest(new TestSuite(FreezeTest.class));
+        result.addTest(new TestSuite(DocumentOrderTest.class));
+        result.addTest(new TestSuite(MemoryUsageTest.class));
+        result.addTest(new TestSuite(TrustedNodeFactoryTest.class));
         // this next test will fail is run after DocType test.
         // needs more investigation
         result.addTest(new TestSuite(XSLTransformTest.class));
@@ -80,6 +85,8 @@ public class XOMTests {
         result.addTest(new TestSuite(SerializerTest.class));
         result.addTest(new TestSuite(CanonicalizerTest.class));
         result.addTest(new TestSuite(BuilderTest.class));
+        result.addTest(new TestSuite(RecordIteratorTest.class));
+        result.addTest(new TestSuite(BuilderPoolTest.class));
         result.addTest(new TestSuite(XIncludeTest.class));
         result.addTest(new TestSuite(SAXConverterTest.class));
         result.addTest(new TestSuite(BaseURITest.class));
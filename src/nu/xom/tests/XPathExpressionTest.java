@@ -0,0 +1,307 @@
+/* Copyright 2026 Elliotte Rusty Harold
+   
+   This library is free software; you can redistribute it and/or modify
+   it under the terms of version 2.1 of the GNU Lesser General Public 
+   License as published by the Free Software Foundation.
+   
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the 
+   GNU Lesser General Public License for more details.
+   
+   You should have received a copy of the GNU Lesser General Public
+   License along with this library. If not, see
+   <https://www.gnu.org/licenses/>.
+   
+   You can contact Elliotte Rusty Harold by sending e-mail to
+   elharo@ibiblio.org. Please include the word "XOM" in the
+   subject line. The XOM home page is located at https://xom.nu/
+*/
+
+package nu.xom.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import nu.xom.Attribute;
+import nu.xom.Document;
+import nu.xom.Element;
+import nu.xom.Nodes;
+import nu.xom.Text;
+import nu.xom.XPathContext;
+import nu.xom.XPathException;
+import nu.xom.XPathExpression;
+
+/**
+ * <p>
+ * Unit tests for compiled XPath expressions.
+ * </p>
+ * 
+ * @author Elliotte Rusty Harold
+ * @version 1.5.0
+ *
+ */
+public class XPathExpressionTest extends XOMTestCase {
+    
+    
+    private Document doc;
+    private Element root;
+    
+    
+    public XPathExpressionTest(String name) {
+        super(name);   
+    }
+
+    
+    protected void setUp() {
+        
+        root = new Element("root");
+        doc = new Document(root);
+        for (int i = 0; i < 5; i++) {
+            Element item = new Element("pre:item", "http://www.example.com/");
+            item.addAttribute(new Attribute("id", "i" + i));
+            item.appendChild(String.valueOf(i));
+            root.appendChild(item);
+        }
+        
+    }
+    
+    
+    public void testEvaluateAgainstDifferentNodes() {
+        
+        XPathExpression xpath = XPathExpression.compile("*");
+        assertEquals(5, xpath.evaluate(root).size());
+        assertEquals(1, xpath.evaluate(doc).size());
+        assertEquals(0, xpath.evaluate(root.getChild(0)).size());
+        
+    }
+    
+    
+    public void testSameResultsAsQuery() {
+        
+        XPathContext context = new XPathContext("p", "http://www.example.com/");
+        String query = "//p:item[@id='i3'] | /root/p:item[1]";
+        XPathExpression xpath = XPathExpression.compile(query, context);
+        Nodes expected = doc.query(query, context);
+        Nodes actual = xpath.evaluate(doc);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+        
+    }
+    
+    
+    public void testNamespacesAreCopiedAtCompileTime() {
+        
+        XPathContext context = new XPathContext("p", "http://www.example.com/");
+        XPathExpression xpath = XPathExpression.compile("//p:item", context);
+        context.addNamespace("p", "http://www.example.org/other");
+        assertEquals(5, xpath.evaluate(doc).size());
+        
+    }
+    
+    
+    public void testUnboundPrefix() {
+        
+        XPathExpression xpath = XPathExpression.compile("//p:item");
+        try {
+            xpath.evaluate(doc);
+            fail("Evaluated with unbound prefix");
+        }
+        catch (XPathException success) {
+            assertEquals("//p:item", success.getXPath());
+        }
+        
+    }
+    
+    
+    public void testSyntaxError() {
+        
+        try {
+            XPathExpression.compile("//item[");
+            fail("Compiled malformed expression");
+        }
+        catch (XPathException success) {
+            assertEquals("//item[", success.getXPath());
+            assertNotNull(success.getCause());
+        }
+        
+    }
+    
+    
+    public void testNullExpression() {
+        
+        try {
+            XPathExpression.compile(null);
+            fail("Compiled null expression");
+        }
+        catch (NullPointerException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+    
+    
+    public void testStringVariable() {
+        
+        XPathExpression xpath = XPathExpression.compile("//*[@id=$id]");
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("id", "i2");
+        Nodes result = xpath.evaluate(doc, variables);
+        assertEquals(1, result.size());
+        assertEquals(root.getChild(2), result.get(0));
+        variables.put("id", "i4");
+        result = xpath.evaluate(doc, variables);
+        assertEquals(root.getChild(4), result.get(0));
+        
+    }
+    
+    
+    public void testNumberAndBooleanVariables() {
+        
+        XPathExpression xpath = XPathExpression.compile("/root/*[position() > $n and $b]");
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("n", Integer.valueOf(3));
+        variables.put("b", Boolean.TRUE);
+        assertEquals(2, xpath.evaluate(doc, variables).size());
+        variables.put("b", Boolean.FALSE);
+        assertEquals(0, xpath.evaluate(doc, variables).size());
+        
+    }
+    
+    
+    public void testNodeSetVariables() {
+        
+        XPathExpression xpath = XPathExpression.compile("$nodes/@id");
+        Map<String, Object> variables = new HashMap<String, Object>();
+        Nodes nodes = new Nodes();
+        nodes.append(root.getChild(1));
+        nodes.append(root.getChild(3));
+        variables.put("nodes", nodes);
+        Nodes result = xpath.evaluate(doc, variables);
+        assertEquals(2, result.size());
+        assertEquals("i1", result.get(0).getValue());
+        assertEquals("i3", result.get(1).getValue());
+        
+        variables.put("nodes", root.getChild(4));
+        result = xpath.evaluate(doc, variables);
+        assertEquals(1, result.size());
+        assertEquals("i4", result.get(0).getValue());
+        
+    }
+    
+    
+    public void testTextNodeVariable() {
+        
+        Text text = (Text) ((Element) root.getChild(2)).getChild(0);
+        XPathExpression xpath = XPathExpression.compile("$t/..");
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("t", text);
+        Nodes result = xpath.evaluate(doc, variables);
+        assertEquals(1, result.size());
+        assertEquals(root.getChild(2), result.get(0));
+        
+    }
+    
+    
+    public void testPrefixedVariable() {
+        
+        XPathContext context = new XPathContext("v", "http://www.example.com/vars");
+        XPathExpression xpath = XPathExpression.compile("//*[@id=$v:id]", context);
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("v:id", "i0");
+        assertEquals(1, xpath.evaluate(doc, variables).size());
+        
+    }
+    
+    
+    public void testUnboundVariable() {
+        
+        XPathExpression xpath = XPathExpression.compile("//*[@id=$id]");
+        try {
+            xpath.evaluate(doc, new HashMap<String, Object>());
+            fail("Evaluated unbound variable");
+        }
+        catch (XPathException success) {
+            assertNotNull(success.getMessage());
+        }
+        try {
+            xpath.evaluate(doc);
+            fail("Evaluated unbound variable");
+        }
+        catch (XPathException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+    
+    
+    public void testUnsupportedVariableType() {
+        
+        XPathExpression xpath = XPathExpression.compile("//*[@id=$id]");
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("id", new Object());
+        try {
+            xpath.evaluate(doc, variables);
+            fail("Bound an Object");
+        }
+        catch (IllegalArgumentException success) {
+            assertNotNull(success.getMessage());
+        }
+        
+    }
+    
+    
+    public void testNonNodeSetResult() {
+        
+        XPathExpression xpath = XPathExpression.compile("count(//*)");
+        try {
+            xpath.evaluate(doc);
+            fail("Returned a number");
+        }
+        catch (XPathException success) {
+            assertEquals("count(//*)", success.getXPath());
+        }
+        
+    }
+    
+    
+    public void testConcurrentEvaluation() throws InterruptedException {
+        
+        final XPathExpression xpath = XPathExpression.compile("//*[@id=$id]");
+        final boolean[] failed = new boolean[1];
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final String id = "i" + (t % 5);
+            threads[t] = new Thread() {
+                public void run() {
+                    Map<String, Object> variables = new HashMap<String, Object>();
+                    variables.put("id", id);
+                    for (int i = 0; i < 500; i++) {
+                        Nodes result = xpath.evaluate(doc, variables);
+                        if (result.size() != 1 
+                          || !id.equals(((Element) result.get(0)).getAttributeValue("id"))) {
+                            failed[0] = true;
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        assertFalse(failed[0]);
+        
+    }
+    
+    
+    public void testGetXPath() {
+        XPathExpression xpath = XPathExpression.compile("//item");
+        assertEquals("//item", xpath.getXPath());
+        assertTrue(xpath.toString().indexOf("//item") > 0);
+    }
+    
+    
+}
@@ -43,7 +43,7 @@ import nu.xom.XMLException;
  * </p>
  * 
  * @author Elliotte Rusty Harold
- * @version 1.3.1
+ * @version 1.5.0
  *
  */
 class XPointer {
@@ -62,7 +62,7 @@ class XPointer {
         try { // Is this a shorthand XPointer?
             // Need to include a URI in case this is a colonized scheme name 
             new Element(xptr, "http://www.example.com");
-            Element identified = findByID(doc.getRootElement(), xptr); 
+            Element identified = doc.getElementByID(xptr); 
             if (identified != null) {
                 result.append(identified);   
                 return result;
@@ -98,8 +98,7 @@ class XPointer {
                         // a subresource."
                         continue; 
                     }  
-                    Element identified = findByID(
-                      doc.getRootElement(), currentData); 
+                    Element identified = doc.getElementByID(currentData); 
                     if (identified != null) {
                         if (!found) result.append(identified); 
                         found = true;                
@@ -122,7 +121,7 @@ class XPointer {
                         // XPointer part identifies a subresource.
                         continue;
                     }
-                    current = findByID(doc.getRootElement(), id);                         
+                    current = doc.getElementByID(id);                         
                     keys = split(currentData.substring(
                       currentData.indexOf('/')));
                     
@@ -279,53 +278,4 @@ class XPointer {
     }
     
     
-    static Element findByID(Element element, String id) {
-         
-        Node current = element;
-        boolean end = false;
-        int index = -1;
-        while (true) {
-            
-            if (current instanceof Element) {
-                Element currentElement = (Element) current;
-                for (int i = 0; i < currentElement.getAttributeCount(); i++) {
-                    Attribute att = currentElement.getAttribute(i);
-                    if (att.getType() == Attribute.Type.ID) {
-                        if (att.getValue().trim().equals(id)) {
-                            return currentElement;   
-                        }
-                    }   
-                }
-            }
-            
-            if (!end && current.getChildCount() > 0) {
-               current = current.getChild(0);
-               index = 0;
-            }
-            else {
-                if (end) {
-                    if (current == element) break;
-                }
-                end = false;
-                ParentNode parent = current.getParent();
-                if (parent.getChildCount() - 1 == index) {
-                    current = parent;
-                    if (current != element) {
-                        parent = current.getParent();
-                        index = parent.indexOf(current);
-                    }
-                    end = true;
-                }
-                else {
-                    index++;
-                    current = parent.getChild(index);
-                }
-            }
-        }  
-        
-        return null;
-        
-    }
-
-    
 }